@@ -0,0 +1,98 @@
+package ua.com.restful_for_users.benchmark;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.com.restful_for_users.ResTfulForUsersApplication;
+import ua.com.restful_for_users.entity.User;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+@UtilityClass
+public class BenchmarkSupport {
+    private static final LocalDate FIRST_BIRTH_DATE = LocalDate.of(1950, 1, 1);
+    private static final int BIRTH_DATE_SPREAD_DAYS = 20_000;
+    private static final int INSERT_CHUNK_SIZE = 10_000;
+    private static final String[] FIRST_NAMES = {
+            "Olena", "Oleksandr", "Andrii", "Iryna", "Mykola", "Nataliia", "Serhii", "Tetiana", "Volodymyr", "Yulia",
+            "Dmytro", "Kateryna", "Taras", "Oksana", "Bohdan", "Sofiia", "Ivan", "Mariia", "Petro", "Anna",
+            "Yurii", "Halyna", "Roman", "Larysa", "Vasyl", "Khrystyna", "Maksym", "Viktoriia", "Artem", "Daryna"};
+    private static final String[] LAST_NAME_ROOTS = {
+            "Shevch", "Koval", "Bond", "Tkach", "Kravch", "Oliinyk", "Shevel", "Polishch", "Lysen", "Rudn",
+            "Savch", "Moroz", "Marchen", "Melnych", "Kozach", "Hrytsen", "Pavl", "Tymosh", "Levch", "Sydor",
+            "Honchar", "Kushn", "Zhuk", "Lytvyn", "Karpen", "Yakym", "Vovk", "Fedor", "Petren", "Semen"};
+    private static final String[] LAST_NAME_SUFFIXES = {"enko", "chuk", "uk", "ych", "skyi", "ko", "ak", "yshyn", "ets", "iv"};
+    private static final String[] CITIES = {
+            "Kyiv", "Lviv", "Odesa", "Kharkiv", "Dnipro", "Zaporizhzhia", "Vinnytsia", "Poltava", "Chernihiv", "Uzhhorod"};
+    private static final String[] STREETS = {
+            "Khreshchatyk", "Shevchenka", "Franka", "Lesi Ukrainky", "Sahaidachnoho", "Hrushevskoho", "Bandery",
+            "Soborna", "Nezalezhnosti", "Zelena", "Sadova", "Shkilna", "Myru", "Tsentralna", "Vyshneva"};
+
+    public static ConfigurableApplicationContext startContext(String database, WebApplicationType webApplicationType,
+                                                              String... properties) {
+        String[] defaults = {
+                "spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=PostgreSQL",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN"
+        };
+        return new SpringApplicationBuilder(ResTfulForUsersApplication.class)
+                .web(webApplicationType)
+                .properties(Stream.concat(Stream.of(defaults), Stream.of(properties)).toArray(String[]::new))
+                .run();
+    }
+
+    public static void insertUsers(JdbcTemplate jdbcTemplate, int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int start = 0; start < count; start += INSERT_CHUNK_SIZE) {
+            List<Object[]> rows = new ArrayList<>(INSERT_CHUNK_SIZE);
+            for (int id = start + 1; id <= Math.min(start + INSERT_CHUNK_SIZE, count); id++) {
+                LocalDate birthDate = FIRST_BIRTH_DATE.plusDays(random.nextInt(BIRTH_DATE_SPREAD_DAYS));
+                rows.add(new Object[]{id, "user" + id + "@gmail.com", "user" + id, "Lastname", Date.valueOf(birthDate)});
+            }
+            jdbcTemplate.batchUpdate(
+                    "insert into users (id, email, first_name, last_name, birth_date, version, updated_at) values (?, ?, ?, ?, ?, 0, CURRENT_TIMESTAMP)", rows);
+        }
+    }
+
+    public static void insertPeople(JdbcTemplate jdbcTemplate, int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int start = 0; start < count; start += INSERT_CHUNK_SIZE) {
+            List<Object[]> rows = new ArrayList<>(INSERT_CHUNK_SIZE);
+            for (int id = start + 1; id <= Math.min(start + INSERT_CHUNK_SIZE, count); id++) {
+                String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String lastName = LAST_NAME_ROOTS[random.nextInt(LAST_NAME_ROOTS.length)]
+                        + LAST_NAME_SUFFIXES[random.nextInt(LAST_NAME_SUFFIXES.length)];
+                String email = (firstName + "." + lastName + id + "@gmail.com").toLowerCase();
+                String address = STREETS[random.nextInt(STREETS.length)] + " " + (1 + random.nextInt(200)) + ", "
+                        + CITIES[random.nextInt(CITIES.length)];
+                String phoneNumber = String.format("+380 %02d %03d %02d %02d", 50 + random.nextInt(50),
+                        random.nextInt(1000), random.nextInt(100), random.nextInt(100));
+                LocalDate birthDate = FIRST_BIRTH_DATE.plusDays(random.nextInt(BIRTH_DATE_SPREAD_DAYS));
+                rows.add(new Object[]{id, email, firstName, lastName, Date.valueOf(birthDate), address, phoneNumber});
+            }
+            jdbcTemplate.batchUpdate(
+                    "insert into users (id, email, first_name, last_name, birth_date, address, phone_number, version, updated_at) " +
+                            "values (?, ?, ?, ?, ?, ?, ?, 0, CURRENT_TIMESTAMP)", rows);
+        }
+    }
+
+    public static User sampleUser(long id) {
+        return User.builder()
+                .id(id)
+                .email("user" + id + "@gmail.com")
+                .firstName("user" + id)
+                .lastName("Lastname")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .address("1 Main Street, Kyiv")
+                .phoneNumber("+380501234567")
+                .version(0L)
+                .build();
+    }
+}
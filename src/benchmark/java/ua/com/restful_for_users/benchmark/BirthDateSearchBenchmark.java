@@ -0,0 +1,64 @@
+package ua.com.restful_for_users.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.repository.UserRepository;
+import ua.com.restful_for_users.snapshot.UserSnapshot;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BirthDateSearchBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int tableSize;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private UserSnapshot userSnapshot;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startContext("search" + tableSize, WebApplicationType.NONE, "user.snapshot.enabled=true");
+        userRepository = context.getBean(UserRepository.class);
+        userSnapshot = context.getBean(UserSnapshot.class);
+        BenchmarkSupport.insertUsers(context.getBean(JdbcTemplate.class), tableSize);
+        userSnapshot.reload();
+        System.out.printf("Snapshot of %d users: %d bytes off-heap, %d bytes per million users%n",
+                userSnapshot.size(), userSnapshot.memoryBytes(), userSnapshot.bytesPerMillionUsers());
+        from = LocalDate.of(1980, 1, 1);
+        to = from.plusMonths(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<User> searchFirstPage() {
+        return userRepository.findByBirthDateBetweenOrderByBirthDateAscIdAsc(from, to, Limit.of(100));
+    }
+
+    @Benchmark
+    public List<User> snapshotSearchFirstPage() {
+        return userSnapshot.search(from, to, null, null, 100);
+    }
+
+    @Benchmark
+    public long countRange() {
+        return userRepository.countByBirthDateBetween(from, to);
+    }
+}
@@ -0,0 +1,70 @@
+package ua.com.restful_for_users.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.restful_for_users.dto.UserPage;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.service.UserService;
+import ua.com.restful_for_users.util.CursorUtils;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(32)
+@Fork(1)
+public class DataAccessLoadBenchmark {
+    private static final int TABLE_SIZE = 50_000;
+    private static final LocalDate FIRST_BIRTH_DATE = LocalDate.of(1950, 1, 1);
+
+    @Param({"default", "data-access"})
+    private String profile;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startContext("data-access-" + profile, WebApplicationType.NONE,
+                "spring.profiles.active=" + profile,
+                "user.cache.maximum-size=0",
+                "user.search.enabled=false");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> BenchmarkSupport.insertUsers(jdbcTemplate, TABLE_SIZE));
+        userService = context.getBean(UserService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserPage searchUsersPage() {
+        LocalDate from = FIRST_BIRTH_DATE.plusDays(ThreadLocalRandom.current().nextInt(19_000));
+        return userService.searchUsersPage(from, from.plusDays(365), null, 100);
+    }
+
+    @Benchmark
+    public UserPage getUsersPage() {
+        long after = ThreadLocalRandom.current().nextLong(TABLE_SIZE - 100);
+        return userService.getUsersPage(CursorUtils.encode(after), 100);
+    }
+
+    @Benchmark
+    public User updateUser() {
+        long id = ThreadLocalRandom.current().nextLong(1, TABLE_SIZE + 1);
+        return userService.updateUser(id, Map.of("lastName", "Lastname" + id % 10));
+    }
+}
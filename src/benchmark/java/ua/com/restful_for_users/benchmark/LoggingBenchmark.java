@@ -0,0 +1,108 @@
+package ua.com.restful_for_users.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.MDC;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.logging.PayloadLog;
+import ua.com.restful_for_users.logging.SamplingTurboFilter;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+    private static final String FULL_PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n";
+    private static final String STRUCTURED_PATTERN = "ts=%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} level=%level logger=%logger{40} "
+            + "requestId=%X{requestId} endpoint=%X{endpoint} durationMs=%X{durationMs} msg=\"%msg\"%n";
+
+    @Param({"payload-sync", "structured-async"})
+    private String mode;
+
+    private LoggerContext context;
+    private Logger controllerLog;
+    private Logger serviceLog;
+    private Logger sqlLog;
+    private Logger payloadLog;
+    private Logger accessLog;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new LoggerContext();
+        boolean structured = "structured-async".equals(mode);
+        Appender<ILoggingEvent> appender = nullAppender(structured ? STRUCTURED_PATTERN : FULL_PATTERN);
+        if (structured) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setNeverBlock(true);
+            async.addAppender(appender);
+            async.start();
+            appender = async;
+            SamplingTurboFilter sampling = new SamplingTurboFilter();
+            sampling.start();
+            context.addTurboFilter(sampling);
+            context.getLogger(PayloadLog.LOGGER_NAME).setLevel(ch.qos.logback.classic.Level.DEBUG);
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(appender);
+        controllerLog = context.getLogger("ua.com.restful_for_users.controller.UserController");
+        serviceLog = context.getLogger("ua.com.restful_for_users.service.UserService");
+        sqlLog = context.getLogger("org.hibernate.SQL");
+        payloadLog = context.getLogger(PayloadLog.LOGGER_NAME);
+        accessLog = context.getLogger("ua.com.restful_for_users.access");
+        user = BenchmarkSupport.sampleUser(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void createUserRequest() {
+        if ("payload-sync".equals(mode)) {
+            controllerLog.info("Creating user: {}", user);
+            serviceLog.info("Creating user: {}", user);
+            sqlLog.info("insert into users (address,birth_date,email,first_name,last_name,phone_number,version,id) values (?,?,?,?,?,?,?,?)");
+            return;
+        }
+        MDC.put("requestId", "3f1c0c1e-1b2a-4d6e-9f3a-6c1d2e3f4a5b");
+        serviceLog.info("Creating user");
+        if (payloadLog.isDebugEnabled()) {
+            payloadLog.debug("Create user payload: {}", user);
+        }
+        MDC.put("endpoint", "/api/users");
+        MDC.put("durationMs", "3");
+        accessLog.info("Request completed");
+        MDC.clear();
+    }
+
+    private Appender<ILoggingEvent> nullAppender(String pattern) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(pattern);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+}
@@ -0,0 +1,46 @@
+package ua.com.restful_for_users.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.com.restful_for_users.search.SearchHit;
+import ua.com.restful_for_users.search.UserSearchIndex;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextSearchBenchmark {
+    @Param({"100000", "1000000"})
+    private int tableSize;
+
+    @Param({"olena", "koval", "shevchenko kyiv", "shevcehnko", "olena kovalenko lviv", "khreshch 12", "38067"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private UserSearchIndex userSearchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startContext("text" + tableSize, WebApplicationType.NONE, "user.search.enabled=true");
+        userSearchIndex = context.getBean(UserSearchIndex.class);
+        BenchmarkSupport.insertPeople(context.getBean(JdbcTemplate.class), tableSize);
+        userSearchIndex.reload();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SearchHit> searchFirstPage() {
+        return userSearchIndex.search(query, null, null, 21);
+    }
+}
@@ -0,0 +1,64 @@
+package ua.com.restful_for_users.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class ThreadModelLoadBenchmark {
+    private static final int TABLE_SIZE = 10_000;
+
+    @Param({"platform", "virtual", "reactive"})
+    private String threadModel;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean reactive = "reactive".equals(threadModel);
+        context = BenchmarkSupport.startContext("load-" + threadModel, reactive ? WebApplicationType.REACTIVE : WebApplicationType.SERVLET,
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + "virtual".equals(threadModel),
+                "spring.datasource.hikari.maximum-pool-size=10",
+                "spring.r2dbc.url=r2dbc:h2:mem:///load-" + threadModel,
+                "spring.r2dbc.pool.max-size=10",
+                "user.cache.maximum-size=0");
+        BenchmarkSupport.insertUsers(context.getBean(JdbcTemplate.class), TABLE_SIZE);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/users/";
+        httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int getUserById() throws Exception {
+        long id = ThreadLocalRandom.current().nextLong(1, TABLE_SIZE + 1);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + id)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,50 @@
+package ua.com.restful_for_users.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.entity.UserField;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserFieldDispatchBenchmark {
+    private Map<String, Object> singleFieldPatch;
+    private Map<String, Object> fullPatch;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        singleFieldPatch = Map.of("firstName", "Jack");
+        fullPatch = Map.of(
+                "email", "jack@gmail.com",
+                "firstName", "Jack",
+                "lastName", "Smith",
+                "birthDate", "1991-02-03",
+                "address", "2 Main Street, Lviv",
+                "phoneNumber", "+380507654321");
+        user = BenchmarkSupport.sampleUser(1);
+    }
+
+    @Benchmark
+    public EnumMap<UserField, Object> convertSingleField() {
+        return UserField.convert(singleFieldPatch);
+    }
+
+    @Benchmark
+    public EnumMap<UserField, Object> convertAllFields() {
+        return UserField.convert(fullPatch);
+    }
+
+    @Benchmark
+    public User convertAndApplyAllFields() {
+        UserField.apply(user, UserField.convert(fullPatch));
+        return user;
+    }
+}
@@ -0,0 +1,57 @@
+package ua.com.restful_for_users.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ua.com.restful_for_users.entity.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserJsonBenchmark {
+    private static final TypeReference<List<User>> USER_LIST = new TypeReference<>() {
+    };
+
+    private ObjectMapper objectMapper;
+    private User user;
+    private List<User> users;
+    private byte[] userJson;
+    private byte[] usersJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        user = BenchmarkSupport.sampleUser(1);
+        users = LongStream.rangeClosed(1, 100).mapToObj(BenchmarkSupport::sampleUser).toList();
+        userJson = objectMapper.writeValueAsBytes(user);
+        usersJson = objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] serializeUser() throws Exception {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public User deserializeUser() throws Exception {
+        return objectMapper.readValue(userJson, User.class);
+    }
+
+    @Benchmark
+    public byte[] serializeUserList() throws Exception {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public List<User> deserializeUserList() throws Exception {
+        return objectMapper.readValue(usersJson, USER_LIST);
+    }
+}
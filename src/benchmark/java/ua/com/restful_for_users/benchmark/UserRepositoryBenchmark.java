@@ -0,0 +1,67 @@
+package ua.com.restful_for_users.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.entity.UserField;
+import ua.com.restful_for_users.repository.UserRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserRepositoryBenchmark {
+    private static final int TABLE_SIZE = 100_000;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startContext("repository", WebApplicationType.NONE);
+        userRepository = context.getBean(UserRepository.class);
+        BenchmarkSupport.insertUsers(context.getBean(JdbcTemplate.class), TABLE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<User> findById() {
+        return userRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public List<User> findPage() {
+        return userRepository.findByIdGreaterThanOrderByIdAsc(randomId(), Limit.of(100));
+    }
+
+    @Benchmark
+    public Optional<User> patchFirstName() {
+        return userRepository.patch(randomId(), Map.of(UserField.FIRST_NAME, "Jack"), null);
+    }
+
+    @Benchmark
+    public User loadAndSave() {
+        User user = userRepository.findById(randomId()).orElseThrow();
+        user.setFirstName("Jack");
+        return userRepository.save(user);
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, TABLE_SIZE + 1);
+    }
+}
@@ -0,0 +1,116 @@
+package ua.com.restful_for_users.benchmark;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import org.hibernate.validator.HibernateValidator;
+import org.hibernate.validator.HibernateValidatorConfiguration;
+import org.openjdk.jmh.annotations.*;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.validation.EmailValidator;
+import ua.com.restful_for_users.validation.MinAgeValidator;
+import ua.com.restful_for_users.validation.UserAgePolicy;
+import ua.com.restful_for_users.validation.ValidEmail;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserValidationBenchmark {
+    private static final int MIN_AGE = 18;
+    private static final java.util.regex.Pattern LEGACY_EMAIL = java.util.regex.Pattern.compile("^[a-zA-Z0-9+_.-]+@[a-zA-Z0-9.-]+$");
+
+    private Validator validator;
+    private UserAgePolicy userAgePolicy;
+    private User validUser;
+    private User invalidEmailUser;
+
+    @Setup
+    public void setUp() {
+        userAgePolicy = new UserAgePolicy(MIN_AGE);
+        HibernateValidatorConfiguration configuration = Validation.byProvider(HibernateValidator.class).configure();
+        ConstraintValidatorFactory defaults = configuration.getDefaultConstraintValidatorFactory();
+        validator = configuration.constraintValidatorFactory(new ConstraintValidatorFactory() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+                return key == MinAgeValidator.class ? (T) new MinAgeValidator(userAgePolicy) : defaults.getInstance(key);
+            }
+
+            @Override
+            public void releaseInstance(ConstraintValidator<?, ?> instance) {
+                defaults.releaseInstance(instance);
+            }
+        }).buildValidatorFactory().getValidator();
+        validUser = BenchmarkSupport.sampleUser(1);
+        invalidEmailUser = BenchmarkSupport.sampleUser(2);
+        invalidEmailUser.setEmail("not an email");
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<User>> validateValidUser() {
+        return validator.validate(validUser);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<User>> validateInvalidEmailUser() {
+        return validator.validate(invalidEmailUser);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<User>> validateEmailProperty() {
+        return validator.validateValue(User.class, "email", validUser.getEmail());
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<LegacyEmail>> validateLegacyEmailProperty() {
+        return validator.validateValue(LegacyEmail.class, "email", validUser.getEmail());
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ScannedEmail>> validateScannedEmailProperty() {
+        return validator.validateValue(ScannedEmail.class, "email", validUser.getEmail());
+    }
+
+    @Benchmark
+    public boolean scanEmail() {
+        return EmailValidator.isValidEmail(validUser.getEmail());
+    }
+
+    @Benchmark
+    public boolean matchLegacyEmail() {
+        return LEGACY_EMAIL.matcher(validUser.getEmail()).matches();
+    }
+
+    @Benchmark
+    public String checkMinAge() {
+        return userAgePolicy.check(validUser.getBirthDate());
+    }
+
+    @Benchmark
+    public boolean checkLegacyMinAge() {
+        return validUser.getBirthDate().isAfter(LocalDate.now().minusYears(MIN_AGE));
+    }
+
+    public static class LegacyEmail {
+        @NotBlank(message = "Email cannot be blank")
+        @Pattern(regexp = "^[a-zA-Z0-9+_.-]+@[a-zA-Z0-9.-]+$", message = "Invalid email format")
+        private String email;
+    }
+
+    public static class ScannedEmail {
+        @NotBlank(message = "Email cannot be blank")
+        @ValidEmail(message = "Invalid email format")
+        private String email;
+    }
+}
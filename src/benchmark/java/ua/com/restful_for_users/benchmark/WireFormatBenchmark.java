@@ -0,0 +1,92 @@
+package ua.com.restful_for_users.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.wire.UserProtobufCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+    private static final TypeReference<List<User>> USER_LIST = new TypeReference<>() {
+    };
+    private static final int USERS = 100;
+
+    @Param({"json", "smile", "cbor", "protobuf"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private UserProtobufCodec protobufCodec;
+    private List<User> users;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        users = LongStream.rangeClosed(1, USERS).mapToObj(BenchmarkSupport::sampleUser).toList();
+        switch (format) {
+            case "json" -> objectMapper = mapper(new JsonFactory());
+            case "smile" -> objectMapper = mapper(new SmileFactory());
+            case "cbor" -> objectMapper = mapper(new CBORFactory());
+            case "protobuf" -> protobufCodec = new UserProtobufCodec(mapper(new ProtobufFactory()));
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        encoded = encode();
+        System.out.printf("%n%s: %d bytes per user, %d gzip bytes per user%n",
+                format, encoded.length / USERS, gzip(encoded).length / USERS);
+    }
+
+    @Benchmark
+    public byte[] encodeUsers() throws IOException {
+        return encode();
+    }
+
+    @Benchmark
+    public byte[] encodeUsersGzip() throws IOException {
+        return gzip(encode());
+    }
+
+    @Benchmark
+    public List<User> decodeUsers() throws IOException {
+        return protobufCodec != null
+                ? protobufCodec.readAll(new ByteArrayInputStream(encoded))
+                : objectMapper.readValue(encoded, USER_LIST);
+    }
+
+    private byte[] encode() throws IOException {
+        return protobufCodec != null ? protobufCodec.writeAll(users) : objectMapper.writeValueAsBytes(users);
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,45 @@
+#!/usr/bin/env bash
+# Usage: mvn -Pfast-start package -DskipTests && src/benchmark/startup/measure-startup.sh [runs]
+set -euo pipefail
+
+cd "$(dirname "$0")/../../.."
+RUNS=${1:-5}
+JAR=target/RESTful_for_Users-0.0.1-SNAPSHOT.jar
+ARCHIVE=target/app.jsa
+MAIN=ua.com.restful_for_users.ResTfulForUsersApplication
+H2=$(find ~/.m2/repository/com/h2database/h2 -name 'h2-*.jar' | sort | tail -1)
+WORK=target/startup
+LABEL="$(date -u +%F),$(java -version 2>&1 | awk -F '"' '/version/ {print $2}'),$(nproc)"
+DATABASE="jdbc:h2:file:$PWD/$WORK/users;MODE=PostgreSQL"
+COMMON=(--server.port=0 --spring.datasource.url="$DATABASE" --spring.datasource.username=sa --spring.datasource.password=
+        --spring.jpa.database-platform=org.hibernate.dialect.H2Dialect --spring.jpa.show-sql=false)
+
+rm -rf "$WORK" && mkdir -p "$WORK"
+java -Dspring.context.exit=onRefresh -cp "$JAR:$H2" "$MAIN" "${COMMON[@]}" --spring.flyway.enabled=true > "$WORK/migrate.log"
+
+measure() {
+    local mode=$1 run=$2; shift 2
+    local log="$WORK/$mode-$run.log"
+    java "$@" > "$log" 2>&1 &
+    local pid=$!
+    for _ in $(seq 1 600); do
+        if grep -q "Started ResTfulForUsersApplication" "$log" || ! kill -0 "$pid" 2>/dev/null; then
+            break
+        fi
+        sleep 0.1
+    done
+    local started rss
+    started=$(grep -o "process running for [0-9.]*" "$log" | awk '{print $4}')
+    rss=$(awk '/VmRSS/ {printf "%.0f", $2 / 1024}' "/proc/$pid/status")
+    kill "$pid" && wait "$pid" || true
+    echo "$LABEL,$mode,$run,$started,$rss"
+}
+
+echo "date,java,cpus,mode,run,startup_seconds,rss_mb"
+for run in $(seq 1 "$RUNS"); do
+    measure create-drop "$run" -cp "$JAR:$H2" "$MAIN" "${COMMON[@]}" --spring.jpa.hibernate.ddl-auto=create-drop
+    measure migrations "$run" -cp "$JAR:$H2" "$MAIN" "${COMMON[@]}"
+    measure lazy "$run" -cp "$JAR:$H2" "$MAIN" "${COMMON[@]}" --spring.profiles.active=fast-start
+    measure lazy-aot "$run" -Dspring.aot.enabled=true -cp "$JAR:$H2" "$MAIN" "${COMMON[@]}" --spring.profiles.active=fast-start
+    measure lazy-aot-cds "$run" -XX:SharedArchiveFile="$ARCHIVE" -Dspring.aot.enabled=true -cp "$JAR:$H2" "$MAIN" "${COMMON[@]}" --spring.profiles.active=fast-start
+done
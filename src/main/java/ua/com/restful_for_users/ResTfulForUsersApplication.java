@@ -1,9 +1,13 @@
 package ua.com.restful_for_users;
 
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import ua.com.restful_for_users.dto.UserVersion;
 
-@SpringBootApplication
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@RegisterReflectionForBinding(UserVersion.class)
 public class ResTfulForUsersApplication {
 
     public static void main(String[] args) {
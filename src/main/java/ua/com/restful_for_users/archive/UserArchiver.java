@@ -0,0 +1,154 @@
+package ua.com.restful_for_users.archive;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class UserArchiver implements MeterBinder {
+    private static final String COLUMNS = "id, email, first_name, last_name, birth_date, address, phone_number, version, updated_at, deleted_at";
+    private static final String SELECT_TOMBSTONES =
+            "SELECT id FROM users WHERE deleted_at < :cutoff ORDER BY deleted_at, id LIMIT :limit FOR UPDATE";
+    private static final String COPY_TO_ARCHIVE = "INSERT INTO users_archive (" + COLUMNS + ", archived_at) " +
+            "SELECT " + COLUMNS + ", :archivedAt FROM users WHERE id IN (:ids)";
+    private static final String DELETE_TOMBSTONES = "DELETE FROM users WHERE id IN (:ids) AND deleted_at IS NOT NULL";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration gracePeriod;
+    private final LocalTime windowStart;
+    private final LocalTime windowEnd;
+    private final Duration interval;
+    private final AtomicLong archived = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    public UserArchiver(DataSource dataSource,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${user.archive.enabled}") boolean enabled,
+                        @Value("${user.archive.batch-size}") int batchSize,
+                        @Value("${user.archive.grace-period}") Duration gracePeriod,
+                        @Value("${user.archive.window-start}") LocalTime windowStart,
+                        @Value("${user.archive.window-end}") LocalTime windowEnd,
+                        @Value("${user.archive.interval}") Duration interval) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.gracePeriod = gracePeriod;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.interval = interval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::archiveQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public synchronized int archive() {
+        long started = System.nanoTime();
+        int total = 0;
+        int moved;
+        do {
+            moved = archiveBatch();
+            total += moved;
+        } while (moved == batchSize && isOffPeak());
+        if (total > 0) {
+            log.info("Archived {} deleted users in {} ms", total, (System.nanoTime() - started) / 1_000_000);
+        }
+        return total;
+    }
+
+    public boolean isOffPeak() {
+        return inWindow(LocalTime.now(), windowStart, windowEnd);
+    }
+
+    public long getArchived() {
+        return archived.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("users.archive.rows", archived, AtomicLong::get).register(registry);
+    }
+
+    static boolean inWindow(LocalTime time, LocalTime start, LocalTime end) {
+        if (start.equals(end)) {
+            return true;
+        }
+        if (start.isBefore(end)) {
+            return !time.isBefore(start) && time.isBefore(end);
+        }
+        return !time.isBefore(start) || time.isBefore(end);
+    }
+
+    private int archiveBatch() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_TOMBSTONES, new MapSqlParameterSource()
+                    .addValue("cutoff", Timestamp.from(now.minus(gracePeriod)))
+                    .addValue("limit", batchSize), Long.class);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            jdbcTemplate.update(COPY_TO_ARCHIVE, new MapSqlParameterSource()
+                    .addValue("archivedAt", Timestamp.from(now))
+                    .addValue("ids", ids));
+            return jdbcTemplate.update(DELETE_TOMBSTONES, new MapSqlParameterSource("ids", ids));
+        });
+        int count = moved == null ? 0 : moved;
+        archived.addAndGet(count);
+        return count;
+    }
+
+    private void archiveQuietly() {
+        if (!isOffPeak()) {
+            return;
+        }
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            log.warn("User archiving failed", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ua.com.restful_for_users.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ua.com.restful_for_users.entity.User;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class UserCache implements MeterBinder {
+    private final String instanceId = UUID.randomUUID().toString();
+    private final UserCacheInvalidationBus invalidationBus;
+    private final Cache<Long, User> cache;
+
+    public UserCache(UserCacheInvalidationBus invalidationBus,
+                     @Value("${user.cache.maximum-size}") long maximumSize,
+                     @Value("${user.cache.ttl}") Duration ttl) {
+        this.invalidationBus = invalidationBus;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    public Optional<User> get(Long userId, Function<Long, Optional<User>> loader) {
+        User user = cache.get(userId, id -> loader.apply(id).orElse(null));
+        return Optional.ofNullable(user).map(UserCache::copy);
+    }
+
+    public Optional<User> getIfPresent(Long userId) {
+        return Optional.ofNullable(cache.asMap().get(userId)).map(UserCache::copy);
+    }
+
+    public boolean contains(Long userId) {
+        return cache.asMap().containsKey(userId);
+    }
+
+    public void put(User user) {
+        cache.put(user.getId(), copy(user));
+        invalidationBus.publish(new UserCacheInvalidation(instanceId, user.getId()));
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+        invalidationBus.publish(new UserCacheInvalidation(instanceId, userId));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "users");
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private void onInvalidation(UserCacheInvalidation invalidation) {
+        if (!instanceId.equals(invalidation.originId())) {
+            log.debug("Evicting user {} on invalidation from {}", invalidation.userId(), invalidation.originId());
+            cache.invalidate(invalidation.userId());
+        }
+    }
+
+    private static User copy(User user) {
+        return user.toBuilder().build();
+    }
+}
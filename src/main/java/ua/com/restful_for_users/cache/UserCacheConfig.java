@@ -0,0 +1,14 @@
+package ua.com.restful_for_users.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class UserCacheConfig {
+    @Bean
+    @ConditionalOnMissingBean
+    public UserCacheInvalidationBus userCacheInvalidationBus() {
+        return new LocalUserCacheInvalidationBus();
+    }
+}
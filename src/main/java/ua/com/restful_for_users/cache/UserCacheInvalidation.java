@@ -0,0 +1,4 @@
+package ua.com.restful_for_users.cache;
+
+public record UserCacheInvalidation(String originId, Long userId) {
+}
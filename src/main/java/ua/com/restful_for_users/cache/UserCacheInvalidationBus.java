@@ -0,0 +1,9 @@
+package ua.com.restful_for_users.cache;
+
+import java.util.function.Consumer;
+
+public interface UserCacheInvalidationBus {
+    void publish(UserCacheInvalidation invalidation);
+
+    void subscribe(Consumer<UserCacheInvalidation> listener);
+}
@@ -0,0 +1,21 @@
+package ua.com.restful_for_users.changes;
+
+import ua.com.restful_for_users.dto.UserChangeEvent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class LocalUserChangeSink implements UserChangeSink {
+    private final List<Consumer<List<UserChangeEvent>>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<UserChangeEvent> events) {
+        listeners.forEach(listener -> listener.accept(events));
+    }
+
+    @Override
+    public void subscribe(Consumer<List<UserChangeEvent>> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,14 @@
+package ua.com.restful_for_users.changes;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class UserChangeConfig {
+    @Bean
+    @ConditionalOnMissingBean
+    public UserChangeSink userChangeSink() {
+        return new LocalUserChangeSink();
+    }
+}
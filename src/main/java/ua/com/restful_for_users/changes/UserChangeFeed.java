@@ -0,0 +1,167 @@
+package ua.com.restful_for_users.changes;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.restful_for_users.dto.UserChangeEvent;
+import ua.com.restful_for_users.exception.RequestThrottledException;
+import ua.com.restful_for_users.repository.UserChangeRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@Slf4j
+public class UserChangeFeed implements MeterBinder {
+    private final UserChangeRepository changeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration maxWait;
+    private final int maxLimit;
+    private final int maxWaiters;
+    private final Duration waitersRetryAfter;
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dispatchPending = new AtomicBoolean();
+    private final ExecutorService executor;
+
+    public UserChangeFeed(UserChangeRepository changeRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${user.changes.max-wait}") Duration maxWait,
+                          @Value("${user.changes.max-waiters}") int maxWaiters,
+                          @Value("${user.changes.waiters-retry-after}") Duration waitersRetryAfter,
+                          @Value("${user.page.max-limit}") int maxLimit) {
+        this.changeRepository = changeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxWait = maxWait;
+        this.maxLimit = maxLimit;
+        this.maxWaiters = maxWaiters;
+        this.waitersRetryAfter = waitersRetryAfter;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public List<UserChangeEvent> read(long since, int limit) {
+        validate(since, limit);
+        return transactionTemplate.execute(status -> changeRepository.findByPositionGreaterThanOrderByPositionAsc(since, Limit.of(limit))
+                .stream()
+                .map(UserChangeEvent::of)
+                .toList());
+    }
+
+    public CompletableFuture<List<UserChangeEvent>> await(long since, int limit, Duration wait) {
+        validate(since, limit);
+        if (wait.isNegative() || wait.compareTo(maxWait) > 0) {
+            throw new IllegalArgumentException("Wait must be between 0 and " + maxWait.toSeconds() + " seconds.");
+        }
+        if (wait.isZero()) {
+            return CompletableFuture.completedFuture(read(since, limit));
+        }
+        if (waiters.size() >= maxWaiters) {
+            throw new RequestThrottledException(HttpStatus.SERVICE_UNAVAILABLE, "Too many clients are waiting for changes.",
+                    waitersRetryAfter);
+        }
+        Waiter waiter = new Waiter(since, limit);
+        waiters.add(waiter);
+        List<UserChangeEvent> events;
+        try {
+            events = read(since, limit);
+        } catch (RuntimeException e) {
+            waiters.remove(waiter);
+            throw e;
+        }
+        if (!events.isEmpty()) {
+            waiters.remove(waiter);
+            waiter.result().complete(events);
+            return waiter.result();
+        }
+        return waiter.result().completeOnTimeout(List.of(), wait.toNanos(), TimeUnit.NANOSECONDS)
+                .whenComplete((result, error) -> waiters.remove(waiter));
+    }
+
+    public void notifyPublished() {
+        if (!waiters.isEmpty() && dispatchPending.compareAndSet(false, true)) {
+            executor.execute(this::dispatch);
+        }
+    }
+
+    public int waiting() {
+        return waiters.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("users.changes.feed.waiters", this, UserChangeFeed::waiting).register(registry);
+    }
+
+    private void dispatch() {
+        dispatchPending.set(false);
+        try {
+            fanOut();
+        } catch (RuntimeException e) {
+            log.warn("User change feed dispatch failed", e);
+        }
+    }
+
+    private void fanOut() {
+        OptionalLong from = waiters.stream().mapToLong(Waiter::since).min();
+        if (from.isEmpty()) {
+            return;
+        }
+        long since = from.getAsLong();
+        List<UserChangeEvent> events;
+        do {
+            events = read(since, maxLimit);
+            if (events.isEmpty()) {
+                return;
+            }
+            long last = events.get(events.size() - 1).position();
+            for (Waiter waiter : waiters) {
+                if (waiter.since() < last && waiters.remove(waiter)) {
+                    waiter.result().complete(events.stream()
+                            .filter(event -> event.position() > waiter.since())
+                            .limit(waiter.limit())
+                            .toList());
+                }
+            }
+            since = last;
+        } while (events.size() == maxLimit && !waiters.isEmpty());
+    }
+
+    private void validate(long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("Since must not be negative.");
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxLimit + ".");
+        }
+    }
+
+    private record Waiter(long since, int limit, CompletableFuture<List<UserChangeEvent>> result) {
+        private Waiter(long since, int limit) {
+            this(since, limit, new CompletableFuture<>());
+        }
+    }
+}
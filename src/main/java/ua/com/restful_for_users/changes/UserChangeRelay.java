@@ -0,0 +1,158 @@
+package ua.com.restful_for_users.changes;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.restful_for_users.dto.UserChangeEvent;
+import ua.com.restful_for_users.entity.UserChange;
+import ua.com.restful_for_users.repository.UserChangeRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class UserChangeRelay implements MeterBinder {
+    private final UserChangeRepository changeRepository;
+    private final UserChangeSink changeSink;
+    private final UserChangeFeed changeFeed;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration relayInterval;
+    private final Duration retention;
+    private final Duration cleanupInterval;
+    private final AtomicLong published = new AtomicLong();
+    private volatile long lastPosition;
+    private volatile long lagMillis;
+    private ScheduledExecutorService scheduler;
+
+    public UserChangeRelay(UserChangeRepository changeRepository,
+                           UserChangeSink changeSink,
+                           UserChangeFeed changeFeed,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${user.changes.relay.enabled}") boolean enabled,
+                           @Value("${user.changes.relay.batch-size}") int batchSize,
+                           @Value("${user.changes.relay.interval}") Duration relayInterval,
+                           @Value("${user.changes.retention}") Duration retention,
+                           @Value("${user.changes.cleanup-interval}") Duration cleanupInterval) {
+        this.changeRepository = changeRepository;
+        this.changeSink = changeSink;
+        this.changeFeed = changeFeed;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.relayInterval = relayInterval;
+        this.retention = retention;
+        this.cleanupInterval = cleanupInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-change-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::relayQuietly, relayInterval.toMillis(), relayInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::cleanUpQuietly, cleanupInterval.toMillis(), cleanupInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public synchronized int relay() {
+        int total = 0;
+        int relayed;
+        do {
+            relayed = relayBatch();
+            total += relayed;
+        } while (relayed == batchSize);
+        return total;
+    }
+
+    public int cleanUp() {
+        Instant cutoff = Instant.now().minus(retention);
+        Integer deleted = transactionTemplate.execute(status -> changeRepository.deletePublishedBefore(cutoff));
+        log.debug("Removed {} user changes published before {}", deleted, cutoff);
+        return deleted == null ? 0 : deleted;
+    }
+
+    public long getLastPosition() {
+        return lastPosition;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("users.changes.published", published, AtomicLong::get).register(registry);
+        Gauge.builder("users.changes.position", this, UserChangeRelay::getLastPosition).register(registry);
+        Gauge.builder("users.changes.relay.lag", this, UserChangeRelay::getLagMillis).baseUnit("milliseconds").register(registry);
+    }
+
+    private int relayBatch() {
+        List<UserChangeEvent> events = transactionTemplate.execute(status -> {
+            List<UserChange> changes = changeRepository.lockUnpublished(Limit.of(batchSize));
+            if (changes.isEmpty()) {
+                return List.of();
+            }
+            long position = changeRepository.findMaxPosition();
+            for (UserChange change : changes) {
+                change.setPosition(++position);
+            }
+            changeRepository.flush();
+            return changes.stream().map(UserChangeEvent::of).toList();
+        });
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+        changeSink.publish(events);
+        published.addAndGet(events.size());
+        lastPosition = events.get(events.size() - 1).position();
+        lagMillis = Duration.between(events.get(0).createdAt(), Instant.now()).toMillis();
+        changeFeed.notifyPublished();
+        log.debug("Relayed {} user changes up to position {}", events.size(), lastPosition);
+        return events.size();
+    }
+
+    private void relayQuietly() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            log.warn("User change relay failed", e);
+        }
+    }
+
+    private void cleanUpQuietly() {
+        try {
+            cleanUp();
+        } catch (RuntimeException e) {
+            log.warn("User change cleanup failed", e);
+        }
+    }
+}
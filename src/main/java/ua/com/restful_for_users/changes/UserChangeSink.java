@@ -0,0 +1,12 @@
+package ua.com.restful_for_users.changes;
+
+import ua.com.restful_for_users.dto.UserChangeEvent;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface UserChangeSink {
+    void publish(List<UserChangeEvent> events);
+
+    void subscribe(Consumer<List<UserChangeEvent>> listener);
+}
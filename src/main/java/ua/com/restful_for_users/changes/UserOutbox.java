@@ -0,0 +1,79 @@
+package ua.com.restful_for_users.changes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.entity.UserChange;
+import ua.com.restful_for_users.entity.UserChangeType;
+import ua.com.restful_for_users.repository.UserChangeRepository;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+public class UserOutbox implements MeterBinder {
+    private final UserChangeRepository changeRepository;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong recorded = new AtomicLong();
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(UserChangeType type, User user) {
+        recordAll(type, List.of(user));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(UserChangeType type, Collection<User> users) {
+        Instant now = now();
+        changeRepository.saveAll(users.stream()
+                .map(user -> change(user.getId(), type, toPayload(user), now))
+                .toList());
+        recorded.addAndGet(users.size());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Collection<Long> userIds) {
+        Instant now = now();
+        changeRepository.saveAll(userIds.stream()
+                .map(userId -> change(userId, UserChangeType.DELETED, null, now))
+                .toList());
+        recorded.addAndGet(userIds.size());
+    }
+
+    public String toPayload(User user) {
+        try {
+            return objectMapper.writeValueAsString(user);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("users.changes.recorded", recorded, AtomicLong::get).register(registry);
+    }
+
+    private static UserChange change(Long userId, UserChangeType type, String payload, Instant createdAt) {
+        return UserChange.builder()
+                .userId(userId)
+                .type(type)
+                .payload(payload)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,150 @@
+package ua.com.restful_for_users.coalescing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.restful_for_users.datasource.ReplicaRouting;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+@Component
+public class ReadCoalescer implements MeterBinder {
+    private final boolean enabled;
+    private final int maxInFlight;
+    private final TransactionTemplate transactionTemplate;
+    private final Stripe[] stripes;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    public ReadCoalescer(PlatformTransactionManager transactionManager,
+                         @Value("${user.coalescing.enabled}") boolean enabled,
+                         @Value("${user.coalescing.stripes}") int stripes,
+                         @Value("${user.coalescing.max-in-flight}") int maxInFlight) {
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Coalescing stripes must be a power of two: " + stripes);
+        }
+        this.enabled = enabled;
+        this.maxInFlight = maxInFlight;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    public <T> T read(Object key, Supplier<T> loader, UnaryOperator<T> copier) {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive() || ReplicaRouting.isPrimaryForced()) {
+            bypassed.increment();
+            return load(loader);
+        }
+        Stripe stripe = stripes[spread(key.hashCode()) & (stripes.length - 1)];
+        CompletableFuture<Object> call;
+        boolean leader = false;
+        stripe.lock.lock();
+        try {
+            call = stripe.calls.get(key);
+            if (call == null && inFlight.get() < maxInFlight) {
+                call = new CompletableFuture<>();
+                stripe.calls.put(key, call);
+                inFlight.incrementAndGet();
+                leader = true;
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        if (call == null) {
+            bypassed.increment();
+            return load(loader);
+        }
+        if (!leader) {
+            coalesced.increment();
+            return copier.apply(await(call));
+        }
+        leaders.increment();
+        try {
+            T value = load(loader);
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            stripe.lock.lock();
+            try {
+                stripe.calls.remove(key, call);
+            } finally {
+                stripe.lock.unlock();
+            }
+            inFlight.decrementAndGet();
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long leaders() {
+        return leaders.sum();
+    }
+
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    public long bypassed() {
+        return bypassed.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("users.reads.coalescing", this, ReadCoalescer::leaders).tag("result", "leader").register(registry);
+        FunctionCounter.builder("users.reads.coalescing", this, ReadCoalescer::coalesced).tag("result", "coalesced").register(registry);
+        FunctionCounter.builder("users.reads.coalescing", this, ReadCoalescer::bypassed).tag("result", "bypassed").register(registry);
+        Gauge.builder("users.reads.coalescing.in.flight", this, ReadCoalescer::inFlight).register(registry);
+    }
+
+    private <T> T load(Supplier<T> loader) {
+        return transactionTemplate.execute(status -> loader.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T await(CompletableFuture<Object> call) {
+        try {
+            return (T) call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Object, CompletableFuture<Object>> calls = new HashMap<>();
+    }
+}
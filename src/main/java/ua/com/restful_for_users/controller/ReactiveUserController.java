@@ -0,0 +1,170 @@
+package ua.com.restful_for_users.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ua.com.restful_for_users.dto.UserPage;
+import ua.com.restful_for_users.dto.UserVersion;
+import ua.com.restful_for_users.dto.UserVersionPage;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.service.ReactiveUserService;
+import ua.com.restful_for_users.util.ETagUtils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@RequestMapping("/api/users")
+@Slf4j
+public class ReactiveUserController {
+    private final ReactiveUserService userService;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getUsers(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            ServerWebExchange exchange) {
+        log.debug("Fetching users after cursor {} with limit {}", after, limit);
+        return userService.getUsersPage(after, limit).flatMap(page -> pageResponse(page, exchange));
+    }
+
+    @GetMapping(produces = UserController.APPLICATION_NDJSON_VALUE)
+    public Flux<User> streamUsers() {
+        log.debug("Streaming all users");
+        return userService.streamAllUsers();
+    }
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<User>> getUser(@PathVariable Long userId, ServerWebExchange exchange) {
+        log.debug("Fetching user with ID {}", userId);
+        return userService.getUserById(userId).flatMap(user -> {
+            if (user.getVersion() != null && user.getUpdatedAt() != null
+                    && exchange.checkNotModified(ETagUtils.forUser(UserVersion.of(user)), user.getUpdatedAt())) {
+                return Mono.empty();
+            }
+            return Mono.just(userResponse(user));
+        });
+    }
+
+    @RequestMapping(value = "/email/{email:.+}", method = RequestMethod.HEAD)
+    public Mono<ResponseEntity<Void>> checkEmail(@PathVariable String email) {
+        log.debug("Checking email availability");
+        return userService.emailExists(email)
+                .map(exists -> exists ? ResponseEntity.ok().<Void>build() : ResponseEntity.notFound().<Void>build());
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<User>> createUser(@Valid @RequestBody User user) {
+        log.debug("Creating user");
+        return userService.createUser(user).map(createdUser -> ResponseEntity.status(HttpStatus.CREATED).body(createdUser));
+    }
+
+    @PutMapping("/{userId}")
+    public Mono<ResponseEntity<User>> updateUser(@PathVariable Long userId, @RequestBody Map<String, Object> updates,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Updating user with ID {}", userId);
+        Long expectedVersion = ETagUtils.parseVersion(ifMatch);
+        return userService.updateUser(userId, updates, expectedVersion)
+                .map(ReactiveUserController::userResponse)
+                .onErrorResume(OptimisticLockingFailureException.class, e -> preconditionFailed(expectedVersion, e));
+    }
+
+    @PutMapping("/updateAll/{userId}")
+    public Mono<ResponseEntity<User>> updateAllUserFields(@PathVariable Long userId, @RequestBody @Valid User user,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Updating all fields for user with ID {}", userId);
+        Long expectedVersion = ETagUtils.parseVersion(ifMatch);
+        return userService.updateAllUserFields(userId, user, expectedVersion)
+                .map(ReactiveUserController::userResponse)
+                .onErrorResume(OptimisticLockingFailureException.class, e -> preconditionFailed(expectedVersion, e));
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<Void>> deleteUser(@PathVariable Long userId) {
+        log.debug("Deleting user with ID {}", userId);
+        return userService.deleteUser(userId).thenReturn(ResponseEntity.noContent().build());
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> searchUsersByBirthDateRange(
+            @RequestParam("from") String from,
+            @RequestParam("to") String to,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            @RequestParam(value = "count", defaultValue = "false") boolean count,
+            ServerWebExchange exchange) {
+        LocalDate fromDate = LocalDate.parse(from);
+        LocalDate toDate = LocalDate.parse(to);
+        if (count) {
+            log.debug("Counting users between {} and {}", fromDate, toDate);
+            return userService.countUsersByBirthDateRange(fromDate, toDate)
+                    .map(total -> ResponseEntity.ok(Map.<String, Object>of("count", total)));
+        }
+        log.debug("Searching for users between {} and {}", fromDate, toDate);
+        return userService.searchUsersPage(fromDate, toDate, after, limit).flatMap(page -> pageResponse(page, exchange));
+    }
+
+    @GetMapping(value = "/search", produces = UserController.APPLICATION_NDJSON_VALUE)
+    public Flux<User> streamUsersByBirthDateRange(@RequestParam("from") String from, @RequestParam("to") String to) {
+        LocalDate fromDate = LocalDate.parse(from);
+        LocalDate toDate = LocalDate.parse(to);
+        log.debug("Streaming users between {} and {}", fromDate, toDate);
+        return userService.streamUsersByBirthDateRange(fromDate, toDate);
+    }
+
+    @GetMapping("/search/text")
+    public Mono<ResponseEntity<Object>> searchUsersByText(
+            @RequestParam("q") String query,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            ServerWebExchange exchange) {
+        log.debug("Searching for users by text with limit {}", limit);
+        return userService.searchUsersByText(query, after, limit).flatMap(page -> pageResponse(page, exchange));
+    }
+
+    private static ResponseEntity<User> userResponse(User user) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (user.getVersion() != null) {
+            response.eTag(ETagUtils.forUser(UserVersion.of(user)));
+        }
+        if (user.getUpdatedAt() != null) {
+            response.lastModified(user.getUpdatedAt());
+        }
+        return response.body(user);
+    }
+
+    private static Mono<ResponseEntity<User>> preconditionFailed(Long expectedVersion, OptimisticLockingFailureException e) {
+        if (expectedVersion == null) {
+            return Mono.error(e);
+        }
+        return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build());
+    }
+
+    private static Mono<ResponseEntity<Object>> pageResponse(UserPage page, ServerWebExchange exchange) {
+        UserVersionPage versions = UserVersionPage.of(page);
+        String eTag = ETagUtils.forPage(versions);
+        long lastModified = ETagUtils.lastModified(versions);
+        if (exchange.checkNotModified(eTag, Instant.ofEpochMilli(lastModified))) {
+            return Mono.empty();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(lastModified);
+        if (page.nextCursor() != null) {
+            response.header(UserController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return Mono.just(response.body(page.users()));
+    }
+}
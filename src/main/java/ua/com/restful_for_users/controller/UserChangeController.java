@@ -0,0 +1,38 @@
+package ua.com.restful_for_users.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ua.com.restful_for_users.changes.UserChangeFeed;
+import ua.com.restful_for_users.dto.UserChangeEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@RequestMapping("/api/users/changes")
+@Slf4j
+public class UserChangeController {
+    private final UserChangeFeed userChangeFeed;
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<List<UserChangeEvent>>> getChanges(
+            @RequestParam(value = "since", defaultValue = "0") long since,
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            @RequestParam(value = "wait", defaultValue = "0") long waitSeconds) {
+        log.debug("Fetching user changes since {} with limit {}, waiting up to {}s", since, limit, waitSeconds);
+        return userChangeFeed.await(since, limit, Duration.ofSeconds(waitSeconds))
+                .thenApply(events -> ResponseEntity.ok()
+                        .header(UserController.NEXT_CURSOR_HEADER,
+                                String.valueOf(events.isEmpty() ? since : events.get(events.size() - 1).position()))
+                        .body(events));
+    }
+}
@@ -1,68 +1,224 @@
 package ua.com.restful_for_users.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ua.com.restful_for_users.dto.BatchResult;
+import ua.com.restful_for_users.dto.UserPage;
+import ua.com.restful_for_users.dto.UserVersion;
+import ua.com.restful_for_users.dto.UserVersionPage;
 import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.ratelimit.RateLimitCost;
+import ua.com.restful_for_users.service.UserBatchService;
 import ua.com.restful_for_users.service.UserService;
+import ua.com.restful_for_users.util.ETagUtils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @RequestMapping("/api/users")
 @Slf4j
 public class UserController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final UserService userService;
+    private final UserBatchService userBatchService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
-        log.info("Fetching all users");
-        List<User> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    @RateLimitCost(10)
+    public ResponseEntity<Object> getUsers(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            WebRequest request) {
+        log.debug("Fetching users after cursor {} with limit {}", after, limit);
+        if (isConditional(request)) {
+            UserVersionPage versions = userService.getUsersPageVersions(after, limit);
+            if (request.checkNotModified(ETagUtils.forPage(versions), ETagUtils.lastModified(versions))) {
+                return null;
+            }
+        }
+        UserPage page = userService.getUsersPage(after, limit);
+        return pageResponse(page);
+    }
+
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    @RateLimitCost(100)
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        log.debug("Streaming all users");
+        StreamingResponseBody body = out -> userService.streamAllUsers(user -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(user));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    @GetMapping("/{userId}")
+    public ResponseEntity<User> getUser(@PathVariable Long userId, WebRequest request) {
+        log.debug("Fetching user with ID {}", userId);
+        if (isConditional(request)) {
+            UserVersion version = userService.getUserVersion(userId);
+            if (request.checkNotModified(ETagUtils.forUser(version), version.updatedAt().toEpochMilli())) {
+                return null;
+            }
+        }
+        User user = userService.getUserById(userId);
+        return userResponse(user);
+    }
+
+    @RequestMapping(value = "/email/{email:.+}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> checkEmail(@PathVariable String email) {
+        log.debug("Checking email availability");
+        return userService.emailExists(email) ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
     }
 
     @PostMapping
     public ResponseEntity<User> createUser(@Valid @RequestBody User user) {
-        log.info("Creating user: {}", user);
+        log.debug("Creating user");
         User createdUser = userService.createUser(user);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
     }
 
+    @PostMapping("/batch")
+    @RateLimitCost(20)
+    public ResponseEntity<BatchResult> createUsers(@RequestBody List<User> users) {
+        log.debug("Creating {} users in batch", users.size());
+        BatchResult result = userBatchService.createUsers(users);
+        return ResponseEntity.ok(result);
+    }
+
+    @PatchMapping("/batch")
+    @RateLimitCost(20)
+    public ResponseEntity<BatchResult> updateUsers(@RequestBody List<Map<String, Object>> updates) {
+        log.debug("Updating {} users in batch", updates.size());
+        BatchResult result = userBatchService.updateUsers(updates);
+        return ResponseEntity.ok(result);
+    }
+
+    @DeleteMapping("/batch")
+    @RateLimitCost(20)
+    public ResponseEntity<BatchResult> deleteUsers(@RequestBody List<Long> userIds) {
+        log.debug("Deleting {} users in batch", userIds.size());
+        BatchResult result = userBatchService.deleteUsers(userIds);
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{userId}")
-    public ResponseEntity<User> updateUser(@PathVariable Long userId, @RequestBody @Valid Map<String, Object> updates) {
-        log.info("Updating user with ID {}: {}", userId, updates);
-        User updatedUser = userService.updateUser(userId, updates);
-        return ResponseEntity.ok(updatedUser);
+    public ResponseEntity<User> updateUser(@PathVariable Long userId, @RequestBody @Valid Map<String, Object> updates,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Updating user with ID {}", userId);
+        Long expectedVersion = ETagUtils.parseVersion(ifMatch);
+        try {
+            return userResponse(userService.updateUser(userId, updates, expectedVersion));
+        } catch (OptimisticLockingFailureException e) {
+            return preconditionFailed(expectedVersion, e);
+        }
     }
 
     @PutMapping("/updateAll/{userId}")
-    public ResponseEntity<User> updateAllUserFields(@PathVariable Long userId, @RequestBody @Valid User user) {
-        log.info("Updating all fields for user with ID {}: {}", userId, user);
-        User updatedUser = userService.updateAllUserFields(userId, user);
-        return ResponseEntity.ok(updatedUser);
+    public ResponseEntity<User> updateAllUserFields(@PathVariable Long userId, @RequestBody @Valid User user,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Updating all fields for user with ID {}", userId);
+        Long expectedVersion = ETagUtils.parseVersion(ifMatch);
+        try {
+            return userResponse(userService.updateAllUserFields(userId, user, expectedVersion));
+        } catch (OptimisticLockingFailureException e) {
+            return preconditionFailed(expectedVersion, e);
+        }
     }
 
     @DeleteMapping("/{userId}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long userId) {
-        log.info("Deleting user with ID {}", userId);
+        log.debug("Deleting user with ID {}", userId);
         userService.deleteUser(userId);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<User>> searchUsersByBirthDateRange(
+    @RateLimitCost(10)
+    public ResponseEntity<Object> searchUsersByBirthDateRange(
             @RequestParam("from") String from,
-            @RequestParam("to") String to) {
+            @RequestParam("to") String to,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            @RequestParam(value = "count", defaultValue = "false") boolean count) {
         LocalDate fromDate = LocalDate.parse(from);
         LocalDate toDate = LocalDate.parse(to);
-        log.info("Searching for users between {} and {}", fromDate, toDate);
-        List<User> users = userService.searchUsersByBirthDateRange(fromDate, toDate);
-        return ResponseEntity.ok(users);
+        if (count) {
+            log.debug("Counting users between {} and {}", fromDate, toDate);
+            long total = userService.countUsersByBirthDateRange(fromDate, toDate);
+            return ResponseEntity.ok(Map.of("count", total));
+        }
+        log.debug("Searching for users between {} and {}", fromDate, toDate);
+        UserPage page = userService.searchUsersPage(fromDate, toDate, after, limit);
+        return pageResponse(page);
+    }
+
+    @GetMapping("/search/text")
+    @RateLimitCost(5)
+    public ResponseEntity<Object> searchUsersByText(
+            @RequestParam("q") String query,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        log.debug("Searching for users by text with limit {}", limit);
+        UserPage page = userService.searchUsersByText(query, after, limit);
+        return pageResponse(page);
+    }
+
+    private static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private static ResponseEntity<User> userResponse(User user) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        if (user.getVersion() != null) {
+            response.eTag(ETagUtils.forUser(UserVersion.of(user)));
+        }
+        if (user.getUpdatedAt() != null) {
+            response.lastModified(user.getUpdatedAt());
+        }
+        return response.body(user);
+    }
+
+    private static ResponseEntity<User> preconditionFailed(Long expectedVersion, OptimisticLockingFailureException e) {
+        if (expectedVersion == null) {
+            throw e;
+        }
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
+    private ResponseEntity<Object> pageResponse(UserPage page) {
+        UserVersionPage versions = UserVersionPage.of(page);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(ETagUtils.forPage(versions))
+                .lastModified(ETagUtils.lastModified(versions));
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.users());
     }
 }
@@ -0,0 +1,69 @@
+package ua.com.restful_for_users.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ua.com.restful_for_users.export.ExportFormat;
+import ua.com.restful_for_users.export.ExportJob;
+import ua.com.restful_for_users.export.UserExportService;
+import ua.com.restful_for_users.ratelimit.RateLimitCost;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.UUID;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@RequestMapping("/api/users/exports")
+@Slf4j
+public class UserExportController {
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final UserExportService userExportService;
+
+    @PostMapping
+    @RateLimitCost(50)
+    public ResponseEntity<ExportJob> startExport(@RequestParam(value = "format", defaultValue = "csv") String format) {
+        log.debug("Starting {} export", format);
+        ExportJob job = userExportService.startExport(ExportFormat.of(format));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/users/exports/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/{exportId}")
+    public ResponseEntity<ExportJob> getExport(@PathVariable UUID exportId) {
+        log.debug("Fetching export {}", exportId);
+        return ResponseEntity.ok(userExportService.getExport(exportId));
+    }
+
+    @GetMapping("/{exportId}/file")
+    public void downloadExport(@PathVariable UUID exportId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        log.debug("Downloading export {}", exportId);
+        ExportJob job = userExportService.getCompletedExport(exportId);
+        long length = Files.size(job.getFile());
+        response.setContentType("application/gzip");
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(job.getFileName()).build().toString());
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, job.getFile().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return;
+        }
+        Files.copy(job.getFile(), response.getOutputStream());
+    }
+}
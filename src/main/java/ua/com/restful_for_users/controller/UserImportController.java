@@ -0,0 +1,36 @@
+package ua.com.restful_for_users.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ua.com.restful_for_users.dto.ImportReport;
+import ua.com.restful_for_users.imports.ImportFormat;
+import ua.com.restful_for_users.imports.UserImportService;
+import ua.com.restful_for_users.ratelimit.RateLimitCost;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@RequestMapping("/api/users/import")
+@Slf4j
+public class UserImportController {
+    private final UserImportService userImportService;
+
+    @PostMapping
+    @RateLimitCost(100)
+    public ResponseEntity<ImportReport> importUsers(@RequestParam(value = "format", defaultValue = "csv") String format,
+                                                    @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String encoding,
+                                                    InputStream body) throws IOException {
+        log.debug("Importing users from {}", format);
+        ImportFormat importFormat = ImportFormat.of(format);
+        InputStream in = "gzip".equalsIgnoreCase(encoding) ? new GZIPInputStream(body) : body;
+        return ResponseEntity.ok(userImportService.importUsers(in, importFormat));
+    }
+}
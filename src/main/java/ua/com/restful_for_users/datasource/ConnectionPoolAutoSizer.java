@@ -0,0 +1,171 @@
+package ua.com.restful_for_users.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Slf4j
+public class ConnectionPoolAutoSizer implements MeterBinder {
+    private static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+    private final List<Pool> pools;
+    private final boolean enabled;
+    private final int minSize;
+    private final int maxSize;
+    private final long targetWaitNanos;
+    private final Duration interval;
+    private volatile MeterRegistry registry;
+    private ScheduledExecutorService scheduler;
+
+    public ConnectionPoolAutoSizer(List<HikariDataSource> dataSources,
+                                   @Value("${user.datasource.pool.auto-size.enabled}") boolean enabled,
+                                   @Value("${user.datasource.pool.auto-size.min}") int minSize,
+                                   @Value("${user.datasource.pool.auto-size.max}") int maxSize,
+                                   @Value("${user.datasource.pool.auto-size.target-wait}") Duration targetWait,
+                                   @Value("${user.datasource.pool.auto-size.interval}") Duration interval) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Pool auto-size bounds must satisfy 1 <= min <= max: " + minSize + ".." + maxSize);
+        }
+        this.pools = dataSources.stream().map(Pool::new).toList();
+        this.enabled = enabled;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetWaitNanos = targetWait.toNanos();
+        this.interval = interval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || pools.isEmpty()) {
+            return;
+        }
+        int initialSize = initialSize();
+        pools.forEach(pool -> pool.resize(initialSize));
+        log.info("Sized {} connection pool(s) to {} connections for {} CPUs", pools.size(), initialSize,
+                Runtime.getRuntime().availableProcessors());
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-auto-sizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::adjustQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public int initialSize() {
+        return clamp(Runtime.getRuntime().availableProcessors() * 2 + 1);
+    }
+
+    public void adjust() {
+        pools.forEach(this::adjust);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        pools.forEach(pool -> Gauge.builder("users.datasource.pool.target.size", pool, Pool::targetSize)
+                .tag("pool", pool.name())
+                .register(registry));
+    }
+
+    private void adjust(Pool pool) {
+        HikariPoolMXBean stats = pool.dataSource().getHikariPoolMXBean();
+        if (stats == null) {
+            return;
+        }
+        int size = pool.targetSize();
+        long meanWait = pool.meanWaitNanos(registry);
+        int waiting = stats.getThreadsAwaitingConnection();
+        if ((meanWait > targetWaitNanos || waiting > 0) && size < maxSize) {
+            int grown = clamp(size + Math.max(1, size / 4));
+            log.info("Growing connection pool {} from {} to {} (mean wait {} us, {} waiting)",
+                    pool.name(), size, grown, meanWait / 1_000, waiting);
+            pool.resize(grown);
+        } else if (meanWait < targetWaitNanos / 4 && waiting == 0 && stats.getActiveConnections() < size / 2 && size > minSize) {
+            log.debug("Shrinking connection pool {} from {} to {}", pool.name(), size, size - 1);
+            pool.resize(size - 1);
+        }
+    }
+
+    private void adjustQuietly() {
+        try {
+            adjust();
+        } catch (RuntimeException e) {
+            log.warn("Connection pool auto-sizing failed", e);
+        }
+    }
+
+    private int clamp(int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+
+    private static final class Pool {
+        private final HikariDataSource dataSource;
+        private final int configuredMinimumIdle;
+        private long lastCount;
+        private double lastTotalNanos;
+
+        private Pool(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+            int minimumIdle = dataSource.getMinimumIdle();
+            this.configuredMinimumIdle = minimumIdle < 0 || minimumIdle >= dataSource.getMaximumPoolSize()
+                    ? Integer.MAX_VALUE
+                    : minimumIdle;
+        }
+
+        private HikariDataSource dataSource() {
+            return dataSource;
+        }
+
+        private String name() {
+            return dataSource.getPoolName();
+        }
+
+        private int targetSize() {
+            return dataSource.getMaximumPoolSize();
+        }
+
+        private void resize(int size) {
+            HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+            config.setMaximumPoolSize(size);
+            config.setMinimumIdle(Math.min(configuredMinimumIdle, size));
+        }
+
+        private long meanWaitNanos(MeterRegistry registry) {
+            Timer timer = registry == null ? null : registry.find(ACQUIRE_TIMER).tag("pool", name()).timer();
+            if (timer == null) {
+                return 0;
+            }
+            long count = timer.count();
+            double totalNanos = timer.totalTime(TimeUnit.NANOSECONDS);
+            long acquired = count - lastCount;
+            double waited = totalNanos - lastTotalNanos;
+            lastCount = count;
+            lastTotalNanos = totalNanos;
+            return acquired <= 0 ? 0 : (long) (waited / acquired);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ua.com.restful_for_users.datasource;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.function.Supplier;
+
+@UtilityClass
+public class ReplicaRouting {
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    public static void forcePrimary() {
+        PRIMARY_FORCED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (isPrimaryForced()) {
+            return action.get();
+        }
+        forcePrimary();
+        try {
+            return action.get();
+        } finally {
+            clear();
+        }
+    }
+
+    public static void onPrimary(Runnable action) {
+        onPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static void clear() {
+        PRIMARY_FORCED.remove();
+    }
+}
@@ -0,0 +1,11 @@
+package ua.com.restful_for_users.dto;
+
+public record BatchItemResult(int index, Long id, boolean success, String error) {
+    public static BatchItemResult succeeded(int index, Long id) {
+        return new BatchItemResult(index, id, true, null);
+    }
+
+    public static BatchItemResult failed(int index, Long id, String error) {
+        return new BatchItemResult(index, id, false, error);
+    }
+}
@@ -0,0 +1,4 @@
+package ua.com.restful_for_users.dto;
+
+public record ImportRejection(long line, String error) {
+}
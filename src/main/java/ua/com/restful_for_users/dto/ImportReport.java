@@ -0,0 +1,6 @@
+package ua.com.restful_for_users.dto;
+
+import java.util.List;
+
+public record ImportReport(long received, long imported, long rejected, List<ImportRejection> rejections) {
+}
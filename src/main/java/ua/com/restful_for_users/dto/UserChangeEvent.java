@@ -0,0 +1,13 @@
+package ua.com.restful_for_users.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import ua.com.restful_for_users.entity.UserChange;
+import ua.com.restful_for_users.entity.UserChangeType;
+
+import java.time.Instant;
+
+public record UserChangeEvent(long position, Long userId, UserChangeType type, @JsonRawValue String user, Instant createdAt) {
+    public static UserChangeEvent of(UserChange change) {
+        return new UserChangeEvent(change.getPosition(), change.getUserId(), change.getType(), change.getPayload(), change.getCreatedAt());
+    }
+}
@@ -0,0 +1,8 @@
+package ua.com.restful_for_users.dto;
+
+import ua.com.restful_for_users.entity.User;
+
+import java.util.List;
+
+public record UserPage(List<User> users, String nextCursor) {
+}
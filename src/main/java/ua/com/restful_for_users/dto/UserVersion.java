@@ -0,0 +1,11 @@
+package ua.com.restful_for_users.dto;
+
+import ua.com.restful_for_users.entity.User;
+
+import java.time.Instant;
+
+public record UserVersion(Long id, Long version, Instant updatedAt) {
+    public static UserVersion of(User user) {
+        return new UserVersion(user.getId(), user.getVersion(), user.getUpdatedAt());
+    }
+}
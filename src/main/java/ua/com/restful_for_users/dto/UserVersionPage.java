@@ -0,0 +1,9 @@
+package ua.com.restful_for_users.dto;
+
+import java.util.List;
+
+public record UserVersionPage(List<UserVersion> versions, String nextCursor) {
+    public static UserVersionPage of(UserPage page) {
+        return new UserVersionPage(page.users().stream().map(UserVersion::of).toList(), page.nextCursor());
+    }
+}
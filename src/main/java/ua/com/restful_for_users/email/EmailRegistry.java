@@ -0,0 +1,106 @@
+package ua.com.restful_for_users.email;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.restful_for_users.changes.UserChangeSink;
+import ua.com.restful_for_users.datasource.ReplicaRouting;
+import ua.com.restful_for_users.dto.UserChangeEvent;
+import ua.com.restful_for_users.repository.UserRepository;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Locale;
+
+@Component
+@Slf4j
+public class EmailRegistry {
+    private static final String EMAIL_QUERY = "SELECT email FROM users";
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final EmailBloomFilter filter;
+    private volatile boolean ready;
+
+    public EmailRegistry(UserRepository userRepository,
+                         DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         UserChangeSink changeSink,
+                         ObjectMapper objectMapper,
+                         @Value("${user.email-filter.expected-insertions}") long expectedInsertions,
+                         @Value("${user.email-filter.false-positive-rate}") double falsePositiveRate,
+                         @Value("${user.email-filter.fetch-size}") int fetchSize) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.filter = new EmailBloomFilter(expectedInsertions, falsePositiveRate);
+        changeSink.subscribe(this::onChanges);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        long[] count = {0};
+        ReplicaRouting.onPrimary(() -> transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(EMAIL_QUERY, rs -> {
+            register(rs.getString(1));
+            count[0]++;
+        })));
+        ready = true;
+        log.info("Email filter loaded {} emails in {} ms", count[0], (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public boolean exists(String email) {
+        return email != null && userRepository.existsByEmail(email);
+    }
+
+    public boolean isTaken(String email) {
+        return mightBeTaken(email) && userRepository.existsByEmail(email);
+    }
+
+    public boolean isTakenByOther(String email, Long userId) {
+        return mightBeTaken(email) && userRepository.existsByEmailAndIdNot(email, userId);
+    }
+
+    public void register(String email) {
+        if (email != null) {
+            filter.put(normalize(email));
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean mightBeTaken(String email) {
+        return email != null && (!ready || filter.mightContain(normalize(email)));
+    }
+
+    private void onChanges(List<UserChangeEvent> events) {
+        for (UserChangeEvent event : events) {
+            if (event.user() == null) {
+                continue;
+            }
+            try {
+                register(objectMapper.readTree(event.user()).path("email").asText(null));
+            } catch (JsonProcessingException e) {
+                log.warn("Could not read email from user change {}", event.position(), e);
+            }
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
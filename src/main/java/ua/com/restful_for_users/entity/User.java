@@ -1,45 +1,70 @@
 package ua.com.restful_for_users.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Past;
-import jakarta.validation.constraints.Pattern;
 import lombok.*;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UpdateTimestamp;
+import ua.com.restful_for_users.validation.MinAge;
+import ua.com.restful_for_users.validation.ValidEmail;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_birth_date_id", columnList = "birth_date, id"))
 @Getter
 @Setter
-@Builder
+@ToString
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
+@MinAge
+@SQLRestriction("deleted_at IS NULL")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Email cannot be blank")
-    @Pattern(regexp = "^[a-zA-Z0-9+_.-]+@[a-zA-Z0-9.-]+$", message = "Invalid email format")
+    @ValidEmail(message = "Invalid email format")
+    @ToString.Exclude
     @Column(name = "email", unique = true)
     private String email;
 
     @NotBlank(message = "First name cannot be blank")
+    @ToString.Exclude
     @Column(name = "first_name")
     private String firstName;
 
     @NotBlank(message = "Last name cannot be blank")
+    @ToString.Exclude
     @Column(name = "last_name")
     private String lastName;
 
     @Past
+    @ToString.Exclude
     @Column(name = "birth_date")
     private LocalDate birthDate;
 
+    @ToString.Exclude
     @Column(name = "address")
     private String address;
 
+    @ToString.Exclude
     @Column(name = "phone_number")
     private String phoneNumber;
+
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
 }
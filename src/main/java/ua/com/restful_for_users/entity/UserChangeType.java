@@ -0,0 +1,7 @@
+package ua.com.restful_for_users.entity;
+
+public enum UserChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,106 @@
+package ua.com.restful_for_users.entity;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+@Getter
+public enum UserField {
+    EMAIL("email", "email", User::getEmail, UserField::toText, (user, value) -> user.setEmail((String) value)),
+    FIRST_NAME("firstName", "first_name", User::getFirstName, UserField::toText, (user, value) -> user.setFirstName((String) value)),
+    LAST_NAME("lastName", "last_name", User::getLastName, UserField::toText, (user, value) -> user.setLastName((String) value)),
+    BIRTH_DATE("birthDate", "birth_date", User::getBirthDate, UserField::toDate, (user, value) -> user.setBirthDate((LocalDate) value)),
+    ADDRESS("address", "address", User::getAddress, UserField::toText, (user, value) -> user.setAddress((String) value)),
+    PHONE_NUMBER("phoneNumber", "phone_number", User::getPhoneNumber, UserField::toText, (user, value) -> user.setPhoneNumber((String) value));
+
+    private static final Map<String, UserField> BY_PROPERTY = new HashMap<>();
+    private static final Map<String, UserField> BY_COLUMN = new HashMap<>();
+
+    static {
+        for (UserField field : values()) {
+            BY_PROPERTY.put(field.property, field);
+            BY_COLUMN.put(field.column, field);
+        }
+    }
+
+    private final String property;
+    private final String column;
+    private final Function<User, Object> getter;
+    private final Function<Object, Object> converter;
+    private final BiConsumer<User, Object> setter;
+
+    UserField(String property, String column, Function<User, Object> getter, Function<Object, Object> converter,
+              BiConsumer<User, Object> setter) {
+        this.property = property;
+        this.column = column;
+        this.getter = getter;
+        this.converter = converter;
+        this.setter = setter;
+    }
+
+    public static UserField of(String property) {
+        UserField field = BY_PROPERTY.get(property);
+        if (field == null) {
+            throw new IllegalArgumentException("Invalid field: " + property);
+        }
+        return field;
+    }
+
+    public static UserField ofColumn(String column) {
+        UserField field = BY_COLUMN.get(column);
+        if (field == null) {
+            throw new IllegalArgumentException("Invalid column: " + column);
+        }
+        return field;
+    }
+
+    public static EnumMap<UserField, Object> convert(Map<String, Object> updates) {
+        EnumMap<UserField, Object> changes = new EnumMap<>(UserField.class);
+        updates.forEach((property, value) -> {
+            UserField field = of(property);
+            changes.put(field, field.convert(value));
+        });
+        return changes;
+    }
+
+    public static EnumMap<UserField, Object> valuesOf(User user) {
+        EnumMap<UserField, Object> values = new EnumMap<>(UserField.class);
+        for (UserField field : values()) {
+            values.put(field, field.getter.apply(user));
+        }
+        return values;
+    }
+
+    public static void apply(User user, Map<UserField, Object> changes) {
+        changes.forEach((field, value) -> field.setter.accept(user, value));
+    }
+
+    public Object convert(Object value) {
+        return converter.apply(value);
+    }
+
+    private static Object toText(Object value) {
+        if (value != null && !(value instanceof String)) {
+            throw new IllegalArgumentException("Invalid value for text field: " + value);
+        }
+        return value;
+    }
+
+    private static Object toDate(Object value) {
+        if (value == null || value instanceof LocalDate) {
+            return value;
+        }
+        if (value instanceof String text) {
+            try {
+                return LocalDate.parse(text);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date: " + text);
+            }
+        }
+        throw new IllegalArgumentException("Invalid value for date field: " + value);
+    }
+}
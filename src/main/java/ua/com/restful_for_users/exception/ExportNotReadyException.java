@@ -0,0 +1,18 @@
+package ua.com.restful_for_users.exception;
+
+import lombok.Getter;
+import ua.com.restful_for_users.export.ExportStatus;
+
+import java.util.UUID;
+
+@Getter
+public class ExportNotReadyException extends RuntimeException {
+    private final UUID exportId;
+    private final ExportStatus status;
+
+    public ExportNotReadyException(UUID exportId, ExportStatus status) {
+        super("Export " + exportId + " is " + status);
+        this.exportId = exportId;
+        this.status = status;
+    }
+}
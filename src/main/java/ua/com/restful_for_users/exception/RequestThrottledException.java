@@ -0,0 +1,22 @@
+package ua.com.restful_for_users.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+@Getter
+public class RequestThrottledException extends RuntimeException {
+    private final HttpStatus status;
+    private final Duration retryAfter;
+
+    public RequestThrottledException(HttpStatus status, String message, Duration retryAfter) {
+        super(message);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
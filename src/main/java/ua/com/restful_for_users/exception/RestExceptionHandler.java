@@ -1,12 +1,17 @@
 package ua.com.restful_for_users.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.util.HashMap;
 import java.util.List;
@@ -15,9 +20,13 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 
 @ControllerAdvice
+@RequiredArgsConstructor
 public class RestExceptionHandler {
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        countError("validation", ex);
         Map<String, Object> errorResponse = new HashMap<>();
         List<String> errors = ex.getBindingResult().getFieldErrors().stream()
                 .map(FieldError::getDefaultMessage)
@@ -28,8 +37,22 @@ public class RestExceptionHandler {
         return ResponseEntity.badRequest().body(errorResponse);
     }
 
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, Object>> handleWebExchangeBindException(WebExchangeBindException ex) {
+        countError("validation", ex);
+        Map<String, Object> errorResponse = new HashMap<>();
+        List<String> errors = ex.getFieldErrors().stream()
+                .map(FieldError::getDefaultMessage)
+                .collect(Collectors.toList());
+        errorResponse.put("errors", errors);
+        errorResponse.put("status", getFullStatusValue(HttpStatus.BAD_REQUEST));
+        errorResponse.put("message", "Validation failed");
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<Map<String, Object>> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        countError("dataIntegrityViolation", ex);
         String errorMessage = Objects.requireNonNull(ex.getRootCause()).getMessage();
         Map<String, Object> errorResponse = new HashMap<>();
         errorResponse.put("error", errorMessage);
@@ -38,8 +61,48 @@ public class RestExceptionHandler {
         return ResponseEntity.badRequest().body(errorResponse);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        countError("optimisticLockingFailure", ex);
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", ex.getMessage());
+        errorResponse.put("status", getFullStatusValue(HttpStatus.CONFLICT));
+        errorResponse.put("message", "Concurrent modification");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    @ExceptionHandler(ExportNotReadyException.class)
+    public ResponseEntity<Map<String, Object>> handleExportNotReadyException(ExportNotReadyException ex) {
+        countError("exportNotReady", ex);
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", ex.getMessage());
+        errorResponse.put("status", getFullStatusValue(HttpStatus.CONFLICT));
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    @ExceptionHandler(RequestThrottledException.class)
+    public ResponseEntity<Map<String, Object>> handleRequestThrottledException(RequestThrottledException ex) {
+        countError("requestThrottled", ex);
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", ex.getMessage());
+        errorResponse.put("status", getFullStatusValue(ex.getStatus()));
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleUserNotFoundException(UserNotFoundException ex) {
+        countError("userNotFound", ex);
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", ex.getMessage());
+        errorResponse.put("status", getFullStatusValue(HttpStatus.NOT_FOUND));
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(IllegalArgumentException ex) {
+        countError("illegalArgument", ex);
         Map<String, Object> errorResponse = new HashMap<>();
         errorResponse.put("error", ex.getMessage());
         errorResponse.put("status", getFullStatusValue(HttpStatus.BAD_REQUEST));
@@ -50,4 +113,9 @@ public class RestExceptionHandler {
         return status.value() + " " + status.getReasonPhrase();
     }
 
+    private void countError(String handler, Exception ex) {
+        meterRegistry.counter("users.api.errors", "handler", handler, "exception", ex.getClass().getSimpleName())
+                .increment();
+    }
+
 }
@@ -0,0 +1,13 @@
+package ua.com.restful_for_users.exception;
+
+import lombok.Getter;
+
+@Getter
+public class UserNotFoundException extends IllegalArgumentException {
+    private final Long userId;
+
+    public UserNotFoundException(Long userId) {
+        super("User not found with id: " + userId);
+        this.userId = userId;
+    }
+}
@@ -0,0 +1,53 @@
+package ua.com.restful_for_users.export;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class ExportJob {
+    private final UUID id;
+    private final ExportFormat format;
+    private final Instant createdAt;
+    @JsonIgnore
+    private final Path file;
+    @JsonIgnore
+    private final AtomicLong rowCounter = new AtomicLong();
+    private volatile ExportStatus status = ExportStatus.PENDING;
+    private volatile Instant completedAt;
+    private volatile String error;
+
+    public ExportJob(UUID id, ExportFormat format, Path file) {
+        this.id = id;
+        this.format = format;
+        this.file = file;
+        this.createdAt = Instant.now();
+    }
+
+    public long getRows() {
+        return rowCounter.get();
+    }
+
+    public String getFileName() {
+        return "users-" + id + "." + format.getExtension() + ".gz";
+    }
+
+    void start() {
+        status = ExportStatus.RUNNING;
+    }
+
+    void complete() {
+        completedAt = Instant.now();
+        status = ExportStatus.COMPLETED;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        completedAt = Instant.now();
+        status = ExportStatus.FAILED;
+    }
+}
@@ -0,0 +1,8 @@
+package ua.com.restful_for_users.export;
+
+public enum ExportStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,176 @@
+package ua.com.restful_for_users.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.exception.ExportNotReadyException;
+import ua.com.restful_for_users.repository.UserRowMapper;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+@Slf4j
+public class UserExportService {
+    private static final String EXPORT_QUERY =
+            "SELECT id, email, first_name, last_name, birth_date, address, phone_number, version, updated_at " +
+                    "FROM users WHERE deleted_at IS NULL ORDER BY id";
+    private static final String CSV_HEADER = "id,email,first_name,last_name,birth_date,address,phone_number\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final Path directory;
+    private final Duration retention;
+    private final Map<UUID, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    public UserExportService(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${user.export.directory}") Path directory,
+                             @Value("${user.export.threads}") int threads,
+                             @Value("${user.export.fetch-size}") int fetchSize,
+                             @Value("${user.export.retention}") Duration retention) throws IOException {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.directory = Files.createDirectories(directory);
+        this.retention = retention;
+    }
+
+    public ExportJob startExport(ExportFormat format) {
+        purgeExpired();
+        UUID id = UUID.randomUUID();
+        ExportJob job = new ExportJob(id, format, directory.resolve("users-" + id + "." + format.getExtension() + ".gz"));
+        jobs.put(id, job);
+        log.info("Starting {} export {}", format, id);
+        executor.execute(() -> run(job));
+        return job;
+    }
+
+    public ExportJob getExport(UUID id) {
+        ExportJob job = jobs.get(id);
+        if (job == null) {
+            throw new IllegalArgumentException("Export not found with id: " + id);
+        }
+        return job;
+    }
+
+    public ExportJob getCompletedExport(UUID id) {
+        ExportJob job = getExport(id);
+        if (job.getStatus() != ExportStatus.COMPLETED) {
+            throw new ExportNotReadyException(id, job.getStatus());
+        }
+        return job;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ExportJob job) {
+        job.start();
+        Path partFile = job.getFile().resolveSibling(job.getFile().getFileName() + ".part");
+        try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(partFile), BUFFER_SIZE), BUFFER_SIZE)) {
+            if (job.getFormat() == ExportFormat.CSV) {
+                out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(EXPORT_QUERY, rs -> {
+                writeRow(out, job.getFormat(), UserRowMapper.INSTANCE.mapRow(rs, 0));
+                job.getRowCounter().incrementAndGet();
+            }));
+        } catch (IOException | RuntimeException e) {
+            log.error("Export {} failed", job.getId(), e);
+            deleteQuietly(partFile);
+            job.fail(e.getMessage());
+            return;
+        }
+        try {
+            Files.move(partFile, job.getFile(), StandardCopyOption.ATOMIC_MOVE);
+            job.complete();
+            log.info("Export {} completed with {} rows", job.getId(), job.getRows());
+        } catch (IOException e) {
+            log.error("Export {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    private void writeRow(OutputStream out, ExportFormat format, User user) {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                out.write(objectMapper.writeValueAsBytes(user));
+                out.write('\n');
+            } else {
+                out.write(toCsv(user).getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toCsv(User user) {
+        return user.getId() + ","
+                + csvField(user.getEmail()) + ","
+                + csvField(user.getFirstName()) + ","
+                + csvField(user.getLastName()) + ","
+                + (user.getBirthDate() == null ? "" : user.getBirthDate()) + ","
+                + csvField(user.getAddress()) + ","
+                + csvField(user.getPhoneNumber()) + "\n";
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void purgeExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            if (job.getCompletedAt() == null || job.getCompletedAt().isAfter(cutoff)) {
+                return false;
+            }
+            deleteQuietly(job.getFile());
+            return true;
+        });
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}", file, e);
+        }
+    }
+}
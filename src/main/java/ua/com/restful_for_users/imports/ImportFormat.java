@@ -0,0 +1,15 @@
+package ua.com.restful_for_users.imports;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static ImportFormat of(String value) {
+        for (ImportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + value);
+    }
+}
@@ -0,0 +1,298 @@
+package ua.com.restful_for_users.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ua.com.restful_for_users.dto.BatchItemResult;
+import ua.com.restful_for_users.dto.BatchResult;
+import ua.com.restful_for_users.dto.ImportRejection;
+import ua.com.restful_for_users.dto.ImportReport;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.entity.UserField;
+import ua.com.restful_for_users.service.UserBatchService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+@Service
+@Slf4j
+public class UserImportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Set<String> IGNORED_COLUMNS = Set.of("id", "version");
+
+    private final UserBatchService userBatchService;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+    private final int maxRejections;
+
+    public UserImportService(UserBatchService userBatchService,
+                             ObjectMapper objectMapper,
+                             @Value("${user.import.threads}") int threads,
+                             @Value("${user.batch.chunk-size}") int chunkSize,
+                             @Value("${user.import.max-chunks-in-flight}") int maxChunksInFlight,
+                             @Value("${user.import.max-rejections}") int maxRejections) {
+        this.userBatchService = userBatchService;
+        this.objectMapper = objectMapper;
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = maxChunksInFlight;
+        this.maxRejections = maxRejections;
+    }
+
+    public ImportReport importUsers(InputStream body, ImportFormat format) throws IOException {
+        log.info("Starting {} import", format);
+        RecordReader reader = new RecordReader(
+                new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), BUFFER_SIZE),
+                format == ImportFormat.CSV);
+        Function<String, User> parser;
+        if (format == ImportFormat.CSV) {
+            String header = reader.next();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV header is required.");
+            }
+            parser = csvParser(header);
+        } else {
+            parser = this::parseJson;
+        }
+        Progress progress = new Progress();
+        Deque<CompletableFuture<ValidatedChunk>> inFlight = new ArrayDeque<>();
+        try {
+            List<Line> chunk = new ArrayList<>(chunkSize);
+            String text;
+            while ((text = reader.next()) != null) {
+                if (text.isBlank()) {
+                    continue;
+                }
+                chunk.add(new Line(reader.recordLine, text));
+                if (chunk.size() == chunkSize) {
+                    inFlight.add(submit(chunk, parser));
+                    chunk = new ArrayList<>(chunkSize);
+                    if (inFlight.size() >= maxChunksInFlight) {
+                        write(inFlight.poll(), progress);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                inFlight.add(submit(chunk, parser));
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.poll(), progress);
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        ImportReport report = progress.toReport();
+        log.info("Import finished: {} received, {} imported, {} rejected",
+                report.received(), report.imported(), report.rejected());
+        return report;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<ValidatedChunk> submit(List<Line> chunk, Function<String, User> parser) {
+        return CompletableFuture.supplyAsync(() -> validate(chunk, parser), executor);
+    }
+
+    private ValidatedChunk validate(List<Line> chunk, Function<String, User> parser) {
+        List<Long> lines = new ArrayList<>(chunk.size());
+        List<User> users = new ArrayList<>(chunk.size());
+        List<ImportRejection> rejections = new ArrayList<>();
+        for (Line line : chunk) {
+            String error;
+            try {
+                User user = parser.apply(line.text());
+                error = userBatchService.validateNew(user);
+                if (error == null) {
+                    lines.add(line.number());
+                    users.add(user);
+                    continue;
+                }
+            } catch (IllegalArgumentException e) {
+                error = e.getMessage();
+            }
+            rejections.add(new ImportRejection(line.number(), error));
+        }
+        return new ValidatedChunk(chunk.size(), lines, users, rejections);
+    }
+
+    private void write(CompletableFuture<ValidatedChunk> future, Progress progress) {
+        ValidatedChunk chunk;
+        try {
+            chunk = future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        progress.received += chunk.size();
+        chunk.rejections().forEach(progress::reject);
+        if (chunk.users().isEmpty()) {
+            return;
+        }
+        BatchResult result = userBatchService.createValidatedUsers(chunk.users());
+        progress.imported += result.succeeded();
+        for (BatchItemResult item : result.items()) {
+            if (!item.success()) {
+                progress.reject(new ImportRejection(chunk.lines().get(item.index()), item.error()));
+            }
+        }
+    }
+
+    private User parseJson(String text) {
+        try {
+            return objectMapper.readValue(text, User.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static Function<String, User> csvParser(String header) {
+        List<String> columns = splitCsv(header);
+        UserField[] fields = new UserField[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i).trim();
+            fields[i] = IGNORED_COLUMNS.contains(column) ? null : UserField.ofColumn(column);
+        }
+        return text -> {
+            List<String> values = splitCsv(text);
+            if (values.size() != fields.length) {
+                throw new IllegalArgumentException("Expected " + fields.length + " columns but found " + values.size());
+            }
+            EnumMap<UserField, Object> changes = new EnumMap<>(UserField.class);
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i] != null) {
+                    String value = values.get(i);
+                    changes.put(fields[i], fields[i].convert(value.isEmpty() ? null : value));
+                }
+            }
+            User user = new User();
+            UserField.apply(user, changes);
+            return user;
+        };
+    }
+
+    private static List<String> splitCsv(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static final class RecordReader {
+        private final BufferedReader reader;
+        private final boolean csv;
+        private final StringBuilder record = new StringBuilder();
+        private long lineNumber;
+        private long recordLine;
+
+        private RecordReader(BufferedReader reader, boolean csv) {
+            this.reader = reader;
+            this.csv = csv;
+        }
+
+        private String next() throws IOException {
+            recordLine = lineNumber + 1;
+            if (!csv) {
+                String text = reader.readLine();
+                if (text != null) {
+                    lineNumber++;
+                }
+                return text;
+            }
+            record.setLength(0);
+            boolean quoted = false;
+            int c;
+            while ((c = reader.read()) >= 0) {
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (c == '\n' || c == '\r') {
+                    if (!quoted) {
+                        lineNumber++;
+                        if (c == '\r') {
+                            reader.mark(1);
+                            if (reader.read() != '\n') {
+                                reader.reset();
+                            }
+                        }
+                        return record.toString();
+                    }
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                }
+                record.append((char) c);
+            }
+            if (record.isEmpty()) {
+                return null;
+            }
+            lineNumber++;
+            return record.toString();
+        }
+    }
+
+    private record Line(long number, String text) {
+    }
+
+    private record ValidatedChunk(int size, List<Long> lines, List<User> users, List<ImportRejection> rejections) {
+    }
+
+    private final class Progress {
+        private final List<ImportRejection> rejections = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long rejected;
+
+        private void reject(ImportRejection rejection) {
+            rejected++;
+            if (rejections.size() < maxRejections) {
+                rejections.add(rejection);
+            }
+        }
+
+        private ImportReport toReport() {
+            return new ImportReport(received, imported, rejected, List.copyOf(rejections));
+        }
+    }
+}
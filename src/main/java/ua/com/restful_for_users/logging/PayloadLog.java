@@ -0,0 +1,35 @@
+package ua.com.restful_for_users.logging;
+
+import lombok.experimental.UtilityClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.entity.UserField;
+
+import java.util.Map;
+
+@UtilityClass
+public class PayloadLog {
+    public static final String LOGGER_NAME = "ua.com.restful_for_users.payload";
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+
+    public static void debug(String message, Object payload) {
+        if (log.isDebugEnabled()) {
+            log.debug(message + ": {}", describe(payload));
+        }
+    }
+
+    private static Object describe(Object payload) {
+        if (payload instanceof Map<?, ?> fields) {
+            return "fields=" + fields.keySet();
+        }
+        if (payload instanceof User user) {
+            return "fields=" + UserField.valuesOf(user).entrySet().stream()
+                    .filter(field -> field.getValue() != null)
+                    .map(field -> field.getKey().getProperty())
+                    .toList();
+        }
+        return payload;
+    }
+}
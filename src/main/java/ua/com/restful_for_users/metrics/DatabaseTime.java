@@ -0,0 +1,25 @@
+package ua.com.restful_for_users.metrics;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class DatabaseTime {
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+    public static void start() {
+        CURRENT.set(new long[1]);
+    }
+
+    public static void add(long nanos) {
+        long[] total = CURRENT.get();
+        if (total != null) {
+            total[0] += nanos;
+        }
+    }
+
+    public static long finish() {
+        long[] total = CURRENT.get();
+        CURRENT.remove();
+        return total == null ? 0 : total[0];
+    }
+}
@@ -0,0 +1,109 @@
+package ua.com.restful_for_users.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private static final String TIMING_ATTRIBUTE = RequestMetricsFilter.class.getName() + ".timing";
+
+    private static final Logger accessLog = LoggerFactory.getLogger("ua.com.restful_for_users.access");
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTiming timing = (RequestTiming) request.getAttribute(TIMING_ATTRIBUTE);
+        if (timing == null) {
+            timing = new RequestTiming();
+            timing.event.begin();
+            String requestId = request.getHeader(REQUEST_ID_HEADER);
+            timing.requestId = requestId == null ? UUID.randomUUID().toString() : requestId;
+            response.setHeader(REQUEST_ID_HEADER, timing.requestId);
+        }
+        DatabaseTime.start();
+        MDC.put("requestId", timing.requestId);
+        MDC.put("method", request.getMethod());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            timing.databaseTime += DatabaseTime.finish();
+            if (request.isAsyncStarted()) {
+                request.setAttribute(TIMING_ATTRIBUTE, timing);
+            } else {
+                request.removeAttribute(TIMING_ATTRIBUTE);
+                record(request, response, timing);
+            }
+            MDC.remove("requestId");
+            MDC.remove("method");
+            MDC.remove("endpoint");
+            MDC.remove("status");
+            MDC.remove("durationMs");
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestTiming timing) {
+        long databaseTime = timing.databaseTime;
+        long totalTime = System.nanoTime() - timing.start;
+        String endpoint = getEndpoint(request);
+        timer("users.api.db.time", request, endpoint).record(databaseTime, TimeUnit.NANOSECONDS);
+        timer("users.api.app.time", request, endpoint).record(totalTime - databaseTime, TimeUnit.NANOSECONDS);
+        SlowRequestEvent event = timing.event;
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = request.getMethod();
+            event.endpoint = endpoint;
+            event.status = response.getStatus();
+            event.databaseTime = databaseTime;
+            event.commit();
+        }
+        MDC.put("endpoint", endpoint);
+        MDC.put("status", String.valueOf(response.getStatus()));
+        MDC.put("durationMs", String.valueOf(TimeUnit.NANOSECONDS.toMillis(totalTime)));
+        accessLog.info("Request completed");
+    }
+
+    private Timer timer(String name, HttpServletRequest request, String endpoint) {
+        return Timer.builder(name)
+                .tag("method", request.getMethod())
+                .tag("uri", endpoint)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String getEndpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+
+    private static class RequestTiming {
+        private final SlowRequestEvent event = new SlowRequestEvent();
+        private final long start = System.nanoTime();
+        private String requestId;
+        private long databaseTime;
+    }
+}
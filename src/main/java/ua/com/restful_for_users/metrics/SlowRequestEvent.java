@@ -0,0 +1,23 @@
+package ua.com.restful_for_users.metrics;
+
+import jdk.jfr.*;
+
+@Name("ua.com.restful_for_users.SlowRequest")
+@Label("Slow Request")
+@Category({"RESTful for Users", "HTTP"})
+@Threshold("500 ms")
+@StackTrace(false)
+public class SlowRequestEvent extends Event {
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Status")
+    int status;
+
+    @Label("Database Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long databaseTime;
+}
@@ -0,0 +1,121 @@
+package ua.com.restful_for_users.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import ua.com.restful_for_users.exception.RequestThrottledException;
+
+import java.time.Duration;
+
+@Component
+@Slf4j
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+    public static final String API_KEY_HEADER = "X-Api-Key";
+
+    private static final String STARTED_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".started";
+
+    private final boolean enabled;
+    private final double tokensPerSecond;
+    private final int burst;
+    private final Cache<String, TokenBucket> buckets;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Duration shedRetryAfter;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitInterceptor(MeterRegistry meterRegistry,
+                                @Value("${user.rate-limit.enabled}") boolean enabled,
+                                @Value("${user.rate-limit.tokens-per-second}") double tokensPerSecond,
+                                @Value("${user.rate-limit.burst}") int burst,
+                                @Value("${user.rate-limit.max-clients}") long maxClients,
+                                @Value("${user.rate-limit.client-idle-timeout}") Duration clientIdleTimeout,
+                                @Value("${user.load-shedding.initial-limit}") int initialLimit,
+                                @Value("${user.load-shedding.min-limit}") int minLimit,
+                                @Value("${user.load-shedding.max-limit}") int maxLimit,
+                                @Value("${user.load-shedding.latency-threshold}") Duration latencyThreshold,
+                                @Value("${user.load-shedding.retry-after}") Duration shedRetryAfter) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.tokensPerSecond = tokensPerSecond;
+        this.burst = burst;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(clientIdleTimeout)
+                .build();
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                latencyThreshold.toNanos(), System.nanoTime());
+        this.shedRetryAfter = shedRetryAfter;
+        Gauge.builder("users.api.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("users.api.concurrency.in.flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+        Gauge.builder("users.api.rate.limit.clients", buckets, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        long now = System.nanoTime();
+        String client = clientKey(request);
+        long wait = buckets.get(client, key -> new TokenBucket(tokensPerSecond, burst, now))
+                .tryConsume(cost(method), now);
+        if (wait > 0) {
+            shed("rateLimit", request);
+            log.debug("Rate limit exceeded for {}", client);
+            throw new RequestThrottledException(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded.", Duration.ofNanos(wait));
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            shed("concurrencyLimit", request);
+            log.debug("Shedding request, concurrency limit {} reached", concurrencyLimiter.getLimit());
+            throw new RequestThrottledException(HttpStatus.SERVICE_UNAVAILABLE, "Server is overloaded.", shedRetryAfter);
+        }
+        request.setAttribute(STARTED_ATTRIBUTE, now);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(STARTED_ATTRIBUTE) != null) {
+            request.removeAttribute(STARTED_ATTRIBUTE);
+            concurrencyLimiter.release();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(STARTED_ATTRIBUTE) instanceof Long started) {
+            request.removeAttribute(STARTED_ATTRIBUTE);
+            long now = System.nanoTime();
+            concurrencyLimiter.release(now - started, now);
+        }
+    }
+
+    private void shed(String reason, HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        meterRegistry.counter("users.api.shed", "reason", reason, "uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .increment();
+    }
+
+    private static int cost(HandlerMethod method) {
+        RateLimitCost cost = method.getMethodAnnotation(RateLimitCost.class);
+        return cost == null ? 1 : cost.value();
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey == null || apiKey.isBlank() ? "ip:" + request.getRemoteAddr() : "key:" + apiKey;
+    }
+}
@@ -0,0 +1,229 @@
+package ua.com.restful_for_users.repository;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.entity.UserChangeType;
+import ua.com.restful_for_users.entity.UserField;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserRepository {
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final String COLUMNS = "id, email, first_name, last_name, birth_date, address, phone_number, version, updated_at";
+    private static final String INSERT = "INSERT INTO users (" + COLUMNS + ") " +
+            "VALUES (:id, :email, :firstName, :lastName, :birthDate, :address, :phoneNumber, 0, :updatedAt)";
+    private static final String INSERT_CHANGE = "INSERT INTO user_changes (id, user_id, change_type, payload, created_at) " +
+            "VALUES (:id, :userId, :type, :payload, :createdAt)";
+
+    private final DatabaseClient databaseClient;
+    private final boolean postgres;
+    private final Map<String, String> statements = new ConcurrentHashMap<>();
+
+    public ReactiveUserRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+        this.postgres = POSTGRESQL.equals(databaseClient.getConnectionFactory().getMetadata().getName());
+    }
+
+    public Flux<User> findPage(Long afterId, int limit) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM users WHERE id > :afterId AND deleted_at IS NULL " +
+                        "ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveUserRepository::mapRow)
+                .all();
+    }
+
+    public Flux<User> streamAll() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM users WHERE deleted_at IS NULL ORDER BY id")
+                .map(ReactiveUserRepository::mapRow)
+                .all();
+    }
+
+    public Mono<User> findById(Long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM users WHERE id = :id AND deleted_at IS NULL")
+                .bind("id", id)
+                .map(ReactiveUserRepository::mapRow)
+                .one();
+    }
+
+    public Flux<User> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM users WHERE id IN (:ids) AND deleted_at IS NULL")
+                .bind("ids", ids)
+                .map(ReactiveUserRepository::mapRow)
+                .all();
+    }
+
+    public Flux<User> findByBirthDateBetween(LocalDate from, LocalDate to, LocalDate afterBirthDate, Long afterId, int limit) {
+        String keyset = afterBirthDate == null ? "" :
+                "AND (birth_date > :afterBirthDate OR (birth_date = :afterBirthDate AND id > :afterId)) ";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("SELECT " + COLUMNS + " FROM users " +
+                        "WHERE birth_date BETWEEN :from AND :to AND deleted_at IS NULL " + keyset + "ORDER BY birth_date, id LIMIT :limit")
+                .bind("from", from)
+                .bind("to", to)
+                .bind("limit", limit);
+        if (afterBirthDate != null) {
+            spec = spec.bind("afterBirthDate", afterBirthDate).bind("afterId", afterId);
+        }
+        return spec.map(ReactiveUserRepository::mapRow).all();
+    }
+
+    public Flux<User> streamByBirthDateBetween(LocalDate from, LocalDate to) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM users WHERE birth_date BETWEEN :from AND :to AND deleted_at IS NULL " +
+                        "ORDER BY birth_date, id")
+                .bind("from", from)
+                .bind("to", to)
+                .map(ReactiveUserRepository::mapRow)
+                .all();
+    }
+
+    public Mono<Long> countByBirthDateBetween(LocalDate from, LocalDate to) {
+        return databaseClient.sql("SELECT COUNT(*) FROM users WHERE birth_date BETWEEN :from AND :to AND deleted_at IS NULL")
+                .bind("from", from)
+                .bind("to", to)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Mono<Boolean> existsByEmail(String email) {
+        return databaseClient.sql("SELECT 1 FROM users WHERE email = :email")
+                .bind("email", email)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    public Mono<Boolean> existsByEmailAndIdNot(String email, Long id) {
+        return databaseClient.sql("SELECT 1 FROM users WHERE email = :email AND id <> :id")
+                .bind("email", email)
+                .bind("id", id)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT 1 FROM users WHERE id = :id AND deleted_at IS NULL")
+                .bind("id", id)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    public Mono<User> insert(User user) {
+        return nextId("users_seq")
+                .flatMap(id -> {
+                    Instant updatedAt = now();
+                    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT)
+                            .bind("id", id)
+                            .bind("updatedAt", OffsetDateTime.ofInstant(updatedAt, ZoneOffset.UTC));
+                    for (Map.Entry<UserField, Object> value : UserField.valuesOf(user).entrySet()) {
+                        spec = bind(spec, value.getKey(), value.getValue());
+                    }
+                    User created = user.toBuilder().id(id).version(0L).updatedAt(updatedAt).build();
+                    return spec.fetch().rowsUpdated().thenReturn(created);
+                });
+    }
+
+    public Mono<User> patch(Long userId, Map<UserField, Object> changes, Long expectedVersion) {
+        if (changes.isEmpty()) {
+            return expectedVersion == null
+                    ? findById(userId)
+                    : findById(userId).filter(user -> expectedVersion.equals(user.getVersion()));
+        }
+        EnumSet<UserField> fields = EnumSet.copyOf(changes.keySet());
+        String sql = statements.computeIfAbsent(fields + ":" + (expectedVersion != null),
+                key -> buildStatement(fields, expectedVersion != null));
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("id", userId)
+                .bind("updatedAt", OffsetDateTime.ofInstant(now(), ZoneOffset.UTC));
+        for (UserField field : fields) {
+            spec = bind(spec, field, changes.get(field));
+        }
+        if (expectedVersion != null) {
+            spec = spec.bind("version", expectedVersion);
+        }
+        return spec.map(ReactiveUserRepository::mapRow).first();
+    }
+
+    public Mono<Long> softDeleteById(Long id) {
+        OffsetDateTime now = OffsetDateTime.ofInstant(now(), ZoneOffset.UTC);
+        return databaseClient.sql("UPDATE users SET deleted_at = :now, version = version + 1, updated_at = :now " +
+                        "WHERE id = :id AND deleted_at IS NULL")
+                .bind("now", now)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Void> insertChange(Long userId, UserChangeType type, String payload) {
+        return nextId("user_changes_seq")
+                .flatMap(id -> {
+                    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT_CHANGE)
+                            .bind("id", id)
+                            .bind("userId", userId)
+                            .bind("type", type.name())
+                            .bind("createdAt", OffsetDateTime.ofInstant(now(), ZoneOffset.UTC));
+                    spec = payload == null ? spec.bindNull("payload", String.class) : spec.bind("payload", payload);
+                    return spec.fetch().rowsUpdated();
+                })
+                .then();
+    }
+
+    private Mono<Long> nextId(String sequence) {
+        String sql = postgres ? "SELECT nextval('" + sequence + "')" : "SELECT NEXT VALUE FOR " + sequence;
+        return databaseClient.sql(sql)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private String buildStatement(Set<UserField> fields, boolean checkVersion) {
+        String assignments = fields.stream()
+                .map(field -> field.getColumn() + " = :" + field.getProperty() + ", ")
+                .collect(Collectors.joining());
+        String update = "UPDATE users SET " + assignments + "version = version + 1, updated_at = :updatedAt " +
+                "WHERE id = :id AND deleted_at IS NULL"
+                + (checkVersion ? " AND version = :version" : "");
+        return postgres ? update + " RETURNING " + COLUMNS : "SELECT " + COLUMNS + " FROM FINAL TABLE (" + update + ")";
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, UserField field, Object value) {
+        Class<?> type = field == UserField.BIRTH_DATE ? LocalDate.class : String.class;
+        return value == null ? spec.bindNull(field.getProperty(), type) : spec.bind(field.getProperty(), value);
+    }
+
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static User mapRow(Readable row) {
+        OffsetDateTime updatedAt = row.get("updated_at", OffsetDateTime.class);
+        return User.builder()
+                .id(row.get("id", Long.class))
+                .email(row.get("email", String.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .birthDate(row.get("birth_date", LocalDate.class))
+                .address(row.get("address", String.class))
+                .phoneNumber(row.get("phone_number", String.class))
+                .version(row.get("version", Long.class))
+                .updatedAt(updatedAt == null ? null : updatedAt.toInstant())
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package ua.com.restful_for_users.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import ua.com.restful_for_users.entity.UserChange;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface UserChangeRepository extends JpaRepository<UserChange, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from UserChange c where c.position is null order by c.id")
+    List<UserChange> lockUnpublished(Limit limit);
+
+    @Query("select coalesce(max(c.position), 0) from UserChange c")
+    long findMaxPosition();
+
+    List<UserChange> findByPositionGreaterThanOrderByPositionAsc(long position, Limit limit);
+
+    long countByPositionIsNull();
+
+    @Modifying
+    @Query("delete from UserChange c where c.createdAt < :cutoff " +
+            "and c.position < (select max(latest.position) from UserChange latest)")
+    int deletePublishedBefore(Instant cutoff);
+}
@@ -0,0 +1,16 @@
+package ua.com.restful_for_users.repository;
+
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.entity.UserField;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+public interface UserPatchRepository {
+    Optional<User> patch(Long userId, Map<UserField, Object> changes, Long expectedVersion);
+
+    int softDelete(Long userId);
+
+    void softDeleteAll(Collection<Long> userIds);
+}
@@ -0,0 +1,106 @@
+package ua.com.restful_for_users.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.entity.UserField;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+public class UserPatchRepositoryImpl implements UserPatchRepository {
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final String H2 = "H2";
+
+    private static final String SOFT_DELETE = "UPDATE users SET deleted_at = ?, version = version + 1, updated_at = ? " +
+            "WHERE id = ? AND deleted_at IS NULL";
+    private static final String SELECT_CURRENT = "SELECT * FROM users WHERE id = ? AND deleted_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, String> statements = new ConcurrentHashMap<>();
+    private volatile String databaseProduct;
+
+    public UserPatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public Optional<User> patch(Long userId, Map<UserField, Object> changes, Long expectedVersion) {
+        if (changes.isEmpty()) {
+            return expectedVersion == null
+                    ? jdbcTemplate.query(SELECT_CURRENT, UserRowMapper.INSTANCE, userId).stream().findFirst()
+                    : jdbcTemplate.query(SELECT_CURRENT + " AND version = ?", UserRowMapper.INSTANCE, userId, expectedVersion)
+                    .stream().findFirst();
+        }
+        EnumSet<UserField> fields = EnumSet.copyOf(changes.keySet());
+        List<Object> args = new ArrayList<>();
+        fields.forEach(field -> args.add(changes.get(field)));
+        args.add(Timestamp.from(Instant.now().truncatedTo(ChronoUnit.MICROS)));
+        args.add(userId);
+        if (expectedVersion != null) {
+            args.add(expectedVersion);
+        }
+        String sql = statements.computeIfAbsent(fields + ":" + (expectedVersion != null), key -> buildStatement(fields, expectedVersion != null));
+        if (isReturningSupported()) {
+            return jdbcTemplate.query(sql, UserRowMapper.INSTANCE, args.toArray()).stream().findFirst();
+        }
+        if (jdbcTemplate.update(sql, args.toArray()) == 0) {
+            return Optional.empty();
+        }
+        return jdbcTemplate.query(SELECT_CURRENT, UserRowMapper.INSTANCE, userId)
+                .stream().findFirst();
+    }
+
+    @Override
+    @Transactional
+    public int softDelete(Long userId) {
+        Timestamp now = Timestamp.from(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        return jdbcTemplate.update(SOFT_DELETE, now, now, userId);
+    }
+
+    @Override
+    @Transactional
+    public void softDeleteAll(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        jdbcTemplate.batchUpdate(SOFT_DELETE, userIds.stream()
+                .map(id -> new Object[]{now, now, id})
+                .toList());
+    }
+
+    private String buildStatement(Set<UserField> fields, boolean checkVersion) {
+        String assignments = fields.stream()
+                .map(field -> field.getColumn() + " = ?, ")
+                .collect(Collectors.joining());
+        String update = "UPDATE users SET " + assignments + "version = version + 1, updated_at = ? " +
+                "WHERE id = ? AND deleted_at IS NULL"
+                + (checkVersion ? " AND version = ?" : "");
+        if (!isReturningSupported()) {
+            return update;
+        }
+        return isPostgres() ? update + " RETURNING *" : "SELECT * FROM FINAL TABLE (" + update + ")";
+    }
+
+    private boolean isReturningSupported() {
+        return isPostgres() || H2.equals(databaseProduct());
+    }
+
+    private boolean isPostgres() {
+        return POSTGRESQL.equals(databaseProduct());
+    }
+
+    private String databaseProduct() {
+        if (databaseProduct == null) {
+            databaseProduct = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        }
+        return databaseProduct;
+    }
+}
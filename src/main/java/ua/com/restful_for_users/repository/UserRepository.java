@@ -1,14 +1,65 @@
 package ua.com.restful_for_users.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import ua.com.restful_for_users.dto.UserVersion;
 import ua.com.restful_for_users.entity.User;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserPatchRepository {
+    int STREAM_FETCH_SIZE = 500;
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     List<User> findByBirthDateBetween(LocalDate from, LocalDate to);
-}
\ No newline at end of file
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<User> findByBirthDateBetweenOrderByBirthDateAscIdAsc(LocalDate from, LocalDate to, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select u from User u where u.birthDate between :from and :to " +
+            "and (u.birthDate > :afterBirthDate or (u.birthDate = :afterBirthDate and u.id > :afterId)) " +
+            "order by u.birthDate, u.id")
+    List<User> findByBirthDateBetweenAfter(LocalDate from, LocalDate to, LocalDate afterBirthDate, Long afterId, Limit limit);
+
+    long countByBirthDateBetween(LocalDate from, LocalDate to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<User> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Query("select new ua.com.restful_for_users.dto.UserVersion(u.id, u.version, u.updatedAt) from User u where u.id = :id")
+    Optional<UserVersion> findVersionById(Long id);
+
+    @Query("select new ua.com.restful_for_users.dto.UserVersion(u.id, u.version, u.updatedAt) from User u " +
+            "where u.id > :afterId order by u.id")
+    List<UserVersion> findVersionsAfter(Long afterId, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<User> streamAllByOrderByIdAsc();
+
+    @Query(value = "select count(*) > 0 from users where email = :email", nativeQuery = true)
+    boolean existsByEmail(String email);
+
+    @Query(value = "select count(*) > 0 from users where email = :email and id <> :id", nativeQuery = true)
+    boolean existsByEmailAndIdNot(String email, Long id);
+
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+}
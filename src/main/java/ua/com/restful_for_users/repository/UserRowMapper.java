@@ -0,0 +1,30 @@
+package ua.com.restful_for_users.repository;
+
+import org.springframework.jdbc.core.RowMapper;
+import ua.com.restful_for_users.entity.User;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+public class UserRowMapper implements RowMapper<User> {
+    public static final UserRowMapper INSTANCE = new UserRowMapper();
+
+    @Override
+    public User mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Date birthDate = rs.getDate("birth_date");
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return User.builder()
+                .id(rs.getLong("id"))
+                .email(rs.getString("email"))
+                .firstName(rs.getString("first_name"))
+                .lastName(rs.getString("last_name"))
+                .birthDate(birthDate == null ? null : birthDate.toLocalDate())
+                .address(rs.getString("address"))
+                .phoneNumber(rs.getString("phone_number"))
+                .version(rs.getLong("version"))
+                .updatedAt(updatedAt == null ? null : updatedAt.toInstant())
+                .build();
+    }
+}
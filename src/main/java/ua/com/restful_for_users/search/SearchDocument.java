@@ -0,0 +1,56 @@
+package ua.com.restful_for_users.search;
+
+import ua.com.restful_for_users.entity.User;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+record SearchDocument(long id, String[] terms, byte[] fields) {
+
+    static SearchDocument of(User user) {
+        return of(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(), user.getAddress(), user.getPhoneNumber());
+    }
+
+    static SearchDocument of(long id, String email, String firstName, String lastName, String address, String phoneNumber) {
+        Map<String, Byte> terms = new LinkedHashMap<>();
+        add(terms, firstName, SearchField.FIRST_NAME);
+        add(terms, lastName, SearchField.LAST_NAME);
+        add(terms, email, SearchField.EMAIL);
+        add(terms, address, SearchField.ADDRESS);
+        add(terms, phoneNumber, SearchField.PHONE_NUMBER);
+        String digits = SearchTerms.digits(phoneNumber);
+        if (!digits.isEmpty()) {
+            terms.merge(digits, SearchField.PHONE_NUMBER.mask(), (a, b) -> (byte) (a | b));
+        }
+        String[] termArray = new String[terms.size()];
+        byte[] fieldArray = new byte[terms.size()];
+        int i = 0;
+        for (Map.Entry<String, Byte> entry : terms.entrySet()) {
+            termArray[i] = entry.getKey();
+            fieldArray[i++] = entry.getValue();
+        }
+        return new SearchDocument(id, termArray, fieldArray);
+    }
+
+    float score(List<String> tokens) {
+        float score = 0;
+        for (String token : tokens) {
+            float best = 0;
+            for (int i = 0; i < terms.length; i++) {
+                best = Math.max(best, SearchTerms.quality(token, terms[i]) * SearchField.weight(fields[i]));
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private static void add(Map<String, Byte> terms, String value, SearchField field) {
+        for (String token : SearchTerms.tokenize(value)) {
+            terms.merge(token, field.mask(), (a, b) -> (byte) (a | b));
+        }
+    }
+}
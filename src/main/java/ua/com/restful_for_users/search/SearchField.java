@@ -0,0 +1,31 @@
+package ua.com.restful_for_users.search;
+
+enum SearchField {
+    FIRST_NAME(3f),
+    LAST_NAME(3f),
+    EMAIL(2f),
+    PHONE_NUMBER(2f),
+    ADDRESS(1f);
+
+    private static final SearchField[] VALUES = values();
+
+    private final float weight;
+
+    SearchField(float weight) {
+        this.weight = weight;
+    }
+
+    byte mask() {
+        return (byte) (1 << ordinal());
+    }
+
+    static float weight(byte mask) {
+        float weight = 0;
+        for (SearchField field : VALUES) {
+            if ((mask & field.mask()) != 0) {
+                weight = Math.max(weight, field.weight);
+            }
+        }
+        return weight;
+    }
+}
@@ -0,0 +1,8 @@
+package ua.com.restful_for_users.search;
+
+import java.util.Comparator;
+
+public record SearchHit(long id, float score) {
+    public static final Comparator<SearchHit> RANKING = Comparator.comparingDouble(SearchHit::score).reversed()
+            .thenComparingLong(SearchHit::id);
+}
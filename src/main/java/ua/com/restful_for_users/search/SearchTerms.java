@@ -0,0 +1,115 @@
+package ua.com.restful_for_users.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+final class SearchTerms {
+    static final int MIN_PREFIX_LENGTH = 2;
+    static final int MIN_FUZZY_LENGTH = 4;
+    static final float EXACT = 1f;
+    static final float FUZZY = 0.4f;
+
+    private static final float PREFIX = 0.5f;
+    private static final float PREFIX_COVERAGE = 0.4f;
+
+    private SearchTerms() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean letterOrDigit = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    static String digits(String text) {
+        StringBuilder digits = new StringBuilder();
+        if (text != null) {
+            for (int i = 0; i < text.length(); i++) {
+                if (Character.isDigit(text.charAt(i))) {
+                    digits.append(text.charAt(i));
+                }
+            }
+        }
+        return digits.toString();
+    }
+
+    static float prefixQuality(String token, String term) {
+        return PREFIX + PREFIX_COVERAGE * token.length() / term.length();
+    }
+
+    static float quality(String token, String term) {
+        if (term.equals(token)) {
+            return EXACT;
+        }
+        if (token.length() >= MIN_PREFIX_LENGTH && term.startsWith(token)) {
+            return prefixQuality(token, term);
+        }
+        if (token.length() >= MIN_FUZZY_LENGTH && withinOneEdit(token, term)) {
+            return FUZZY;
+        }
+        return 0;
+    }
+
+    static boolean withinOneEdit(String a, String b) {
+        if (Math.abs(a.length() - b.length()) > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (a.length() == b.length()) {
+            if (i >= a.length() - 1) {
+                return true;
+            }
+            return a.regionMatches(i + 1, b, i + 1, a.length() - i - 1)
+                    || a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                    && a.regionMatches(i + 2, b, i + 2, a.length() - i - 2);
+        }
+        return a.length() > b.length()
+                ? a.regionMatches(i + 1, b, i, b.length() - i)
+                : b.regionMatches(i + 1, a, i, a.length() - i);
+    }
+
+    static Set<String> edits(String token, char[] alphabet) {
+        Set<String> edits = new LinkedHashSet<>();
+        StringBuilder edit = new StringBuilder(token.length() + 1);
+        for (int i = 0; i <= token.length(); i++) {
+            if (i < token.length()) {
+                edits.add(edit.append(token, 0, i).append(token, i + 1, token.length()).toString());
+                edit.setLength(0);
+            }
+            if (i < token.length() - 1) {
+                edits.add(edit.append(token, 0, i).append(token.charAt(i + 1)).append(token.charAt(i))
+                        .append(token, i + 2, token.length()).toString());
+                edit.setLength(0);
+            }
+            for (char c : alphabet) {
+                if (i < token.length() && c != token.charAt(i)) {
+                    edits.add(edit.append(token, 0, i).append(c).append(token, i + 1, token.length()).toString());
+                    edit.setLength(0);
+                }
+                edits.add(edit.append(token, 0, i).append(c).append(token, i, token.length()).toString());
+                edit.setLength(0);
+            }
+        }
+        edits.remove(token);
+        return edits;
+    }
+}
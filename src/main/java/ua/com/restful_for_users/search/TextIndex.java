@@ -0,0 +1,234 @@
+package ua.com.restful_for_users.search;
+
+import java.util.*;
+
+final class TextIndex {
+    static final TextIndex EMPTY = new Builder().build();
+
+    private final long[] ids;
+    private final String[] terms;
+    private final int[] offsets;
+    private final int[] ordinals;
+    private final byte[] fields;
+    private final char[] alphabet;
+
+    private TextIndex(long[] ids, String[] terms, int[] offsets, int[] ordinals, byte[] fields, char[] alphabet) {
+        this.ids = ids;
+        this.terms = terms;
+        this.offsets = offsets;
+        this.ordinals = ordinals;
+        this.fields = fields;
+        this.alphabet = alphabet;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    int termCount() {
+        return terms.length;
+    }
+
+    int postingCount() {
+        return ordinals.length;
+    }
+
+    long id(int ordinal) {
+        return ids[ordinal];
+    }
+
+    Matches match(List<String> tokens, int maxExpansions) {
+        List<Matches> perToken = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            Matches matches = match(token, maxExpansions);
+            if (matches.size() == 0) {
+                return Matches.NONE;
+            }
+            perToken.add(matches);
+        }
+        perToken.sort(Comparator.comparingInt(Matches::size));
+        Matches result = perToken.get(0);
+        for (int i = 1; i < perToken.size() && result.size() > 0; i++) {
+            result = result.intersect(perToken.get(i));
+        }
+        return result;
+    }
+
+    TextIndex compact(Map<Long, SearchDocument> changes) {
+        Builder builder = new Builder();
+        int[] remap = new int[ids.length];
+        for (int ordinal = 0; ordinal < ids.length; ordinal++) {
+            remap[ordinal] = changes.containsKey(ids[ordinal]) ? -1 : builder.addDocument(ids[ordinal]);
+        }
+        for (int term = 0; term < terms.length; term++) {
+            for (int posting = offsets[term]; posting < offsets[term + 1]; posting++) {
+                int ordinal = remap[ordinals[posting]];
+                if (ordinal >= 0) {
+                    builder.addPosting(terms[term], ordinal, fields[posting]);
+                }
+            }
+        }
+        changes.values().stream()
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingLong(SearchDocument::id))
+                .forEach(builder::add);
+        return builder.build();
+    }
+
+    private Matches match(String token, int maxExpansions) {
+        int from = lowerBound(token);
+        int to;
+        if (token.length() >= SearchTerms.MIN_PREFIX_LENGTH) {
+            to = Math.min(lowerBound(token + Character.MAX_VALUE), from + maxExpansions);
+        } else {
+            to = from < terms.length && terms[from].equals(token) ? from + 1 : from;
+        }
+        List<int[]> expansions = new ArrayList<>();
+        for (int term = from; term < to; term++) {
+            expansions.add(new int[]{term, Float.floatToRawIntBits(terms[term].equals(token)
+                    ? SearchTerms.EXACT
+                    : SearchTerms.prefixQuality(token, terms[term]))});
+        }
+        if (token.length() >= SearchTerms.MIN_FUZZY_LENGTH) {
+            for (String candidate : SearchTerms.edits(token, alphabet)) {
+                int term = Arrays.binarySearch(terms, candidate);
+                if (term >= 0 && (term < from || term >= to)) {
+                    expansions.add(new int[]{term, Float.floatToRawIntBits(SearchTerms.FUZZY)});
+                }
+            }
+        }
+        if (expansions.size() == 1) {
+            int term = expansions.get(0)[0];
+            float quality = Float.intBitsToFloat(expansions.get(0)[1]);
+            int size = offsets[term + 1] - offsets[term];
+            int[] matchOrdinals = Arrays.copyOfRange(ordinals, offsets[term], offsets[term + 1]);
+            float[] scores = new float[size];
+            for (int i = 0; i < size; i++) {
+                scores[i] = quality * SearchField.weight(fields[offsets[term] + i]);
+            }
+            return new Matches(matchOrdinals, scores, size);
+        }
+        int total = 0;
+        for (int[] expansion : expansions) {
+            total += offsets[expansion[0] + 1] - offsets[expansion[0]];
+        }
+        long[] packed = new long[total];
+        int next = 0;
+        for (int[] expansion : expansions) {
+            float quality = Float.intBitsToFloat(expansion[1]);
+            for (int posting = offsets[expansion[0]]; posting < offsets[expansion[0] + 1]; posting++) {
+                float score = quality * SearchField.weight(fields[posting]);
+                packed[next++] = (long) ordinals[posting] << 32 | Float.floatToRawIntBits(score) & 0xFFFFFFFFL;
+            }
+        }
+        Arrays.sort(packed);
+        int[] matchOrdinals = new int[total];
+        float[] scores = new float[total];
+        int size = 0;
+        for (int i = 0; i < total; i++) {
+            int ordinal = (int) (packed[i] >>> 32);
+            if (size > 0 && matchOrdinals[size - 1] == ordinal) {
+                size--;
+            }
+            matchOrdinals[size] = ordinal;
+            scores[size++] = Float.intBitsToFloat((int) packed[i]);
+        }
+        return new Matches(matchOrdinals, scores, size);
+    }
+
+    private int lowerBound(String term) {
+        int index = Arrays.binarySearch(terms, term);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    record Matches(int[] ordinals, float[] scores, int size) {
+        static final Matches NONE = new Matches(new int[0], new float[0], 0);
+
+        Matches intersect(Matches other) {
+            int[] resultOrdinals = new int[Math.min(size, other.size)];
+            float[] resultScores = new float[resultOrdinals.length];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (ordinals[i] < other.ordinals[j]) {
+                    i++;
+                } else if (ordinals[i] > other.ordinals[j]) {
+                    j++;
+                } else {
+                    resultOrdinals[count] = ordinals[i];
+                    resultScores[count++] = scores[i++] + other.scores[j++];
+                }
+            }
+            return new Matches(resultOrdinals, resultScores, count);
+        }
+    }
+
+    static final class Builder {
+        private final Map<String, Postings> postings = new HashMap<>();
+        private long[] ids = new long[1024];
+        private int size;
+
+        Builder add(SearchDocument document) {
+            int ordinal = addDocument(document.id());
+            for (int i = 0; i < document.terms().length; i++) {
+                addPosting(document.terms()[i], ordinal, document.fields()[i]);
+            }
+            return this;
+        }
+
+        int addDocument(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size] = id;
+            return size++;
+        }
+
+        void addPosting(String term, int ordinal, byte field) {
+            postings.computeIfAbsent(term, key -> new Postings()).add(ordinal, field);
+        }
+
+        TextIndex build() {
+            String[] terms = postings.keySet().toArray(String[]::new);
+            Arrays.sort(terms);
+            int[] offsets = new int[terms.length + 1];
+            int total = 0;
+            for (int i = 0; i < terms.length; i++) {
+                offsets[i] = total;
+                total += postings.get(terms[i]).size;
+            }
+            offsets[terms.length] = total;
+            int[] ordinals = new int[total];
+            byte[] fields = new byte[total];
+            BitSet characters = new BitSet();
+            for (int i = 0; i < terms.length; i++) {
+                Postings termPostings = postings.get(terms[i]);
+                System.arraycopy(termPostings.ordinals, 0, ordinals, offsets[i], termPostings.size);
+                System.arraycopy(termPostings.fields, 0, fields, offsets[i], termPostings.size);
+                terms[i].chars().forEach(characters::set);
+            }
+            char[] alphabet = new char[characters.cardinality()];
+            int next = 0;
+            for (int c = characters.nextSetBit(0); c >= 0; c = characters.nextSetBit(c + 1)) {
+                alphabet[next++] = (char) c;
+            }
+            return new TextIndex(Arrays.copyOf(ids, size), terms, offsets, ordinals, fields, alphabet);
+        }
+    }
+
+    private static final class Postings {
+        private int[] ordinals = new int[2];
+        private byte[] fields = new byte[2];
+        private int size;
+
+        private void add(int ordinal, byte field) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            ordinals[size] = ordinal;
+            fields[size++] = field;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package ua.com.restful_for_users.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.restful_for_users.datasource.ReplicaRouting;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.exception.RequestThrottledException;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class UserSearchIndex implements MeterBinder {
+    private static final String INDEX_QUERY =
+            "SELECT id, email, first_name, last_name, address, phone_number FROM users WHERE deleted_at IS NULL ORDER BY id";
+
+    private final boolean enabled;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxExpansions;
+    private final Duration compactInterval;
+    private final Duration reloadInterval;
+    private final Duration notReadyRetryAfter;
+    private final Map<Long, Change> changes = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile TextIndex base = TextIndex.EMPTY;
+    private volatile boolean ready;
+    private ScheduledExecutorService scheduler;
+
+    public UserSearchIndex(DataSource dataSource,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${user.search.enabled}") boolean enabled,
+                           @Value("${user.search.fetch-size}") int fetchSize,
+                           @Value("${user.search.max-expansions}") int maxExpansions,
+                           @Value("${user.search.compact-interval}") Duration compactInterval,
+                           @Value("${user.search.reload-interval}") Duration reloadInterval,
+                           @Value("${user.search.not-ready-retry-after}") Duration notReadyRetryAfter) {
+        this.enabled = enabled;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.maxExpansions = maxExpansions;
+        this.compactInterval = compactInterval;
+        this.reloadInterval = reloadInterval;
+        this.notReadyRetryAfter = notReadyRetryAfter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        reload();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::compactQuietly, compactInterval.toMillis(), compactInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::reloadQuietly, reloadInterval.toMillis(), reloadInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public synchronized void reload() {
+        long started = System.nanoTime();
+        long watermark = sequence.get();
+        TextIndex.Builder builder = new TextIndex.Builder();
+        ReplicaRouting.onPrimary(() -> transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(INDEX_QUERY,
+                rs -> {
+                    builder.add(SearchDocument.of(rs.getLong("id"), rs.getString("email"), rs.getString("first_name"),
+                            rs.getString("last_name"), rs.getString("address"), rs.getString("phone_number")));
+                })));
+        base = builder.build();
+        changes.values().removeIf(change -> change.sequence() <= watermark);
+        ready = true;
+        log.info("User search index loaded {} users, {} terms, {} postings in {} ms",
+                base.size(), base.termCount(), base.postingCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public synchronized void compact() {
+        if (changes.isEmpty()) {
+            return;
+        }
+        long watermark = sequence.get();
+        List<Change> applied = changes.values().stream()
+                .filter(change -> change.sequence() <= watermark)
+                .toList();
+        Map<Long, SearchDocument> byId = new HashMap<>();
+        applied.forEach(change -> byId.put(change.id(), change.document()));
+        base = base.compact(byId);
+        applied.forEach(change -> changes.remove(change.id(), change));
+        log.debug("User search index compacted {} changes into {} users", applied.size(), base.size());
+    }
+
+    public void apply(User user) {
+        if (enabled) {
+            changes.put(user.getId(), new Change(user.getId(), SearchDocument.of(user), sequence.incrementAndGet()));
+        }
+    }
+
+    public void remove(Long userId) {
+        if (enabled) {
+            changes.put(userId, new Change(userId, null, sequence.incrementAndGet()));
+        }
+    }
+
+    public List<SearchHit> search(String query, Float afterScore, Long afterId, int limit) {
+        List<String> tokens = SearchTerms.tokenize(query);
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain letters or digits.");
+        }
+        if (!ready) {
+            throw new RequestThrottledException(HttpStatus.SERVICE_UNAVAILABLE, "Text search index is not ready.", notReadyRetryAfter);
+        }
+        Map<Long, Change> pending = Map.copyOf(changes);
+        TextIndex current = base;
+        SearchHit after = afterScore == null ? null : new SearchHit(afterId, afterScore);
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(limit + 1, SearchHit.RANKING.reversed());
+        TextIndex.Matches matches = current.match(tokens, maxExpansions);
+        for (int i = 0; i < matches.size(); i++) {
+            long id = current.id(matches.ordinals()[i]);
+            if (pending.isEmpty() || !pending.containsKey(id)) {
+                offer(top, id, matches.scores()[i], after, limit);
+            }
+        }
+        for (Change change : pending.values()) {
+            if (change.document() != null) {
+                float score = change.document().score(tokens);
+                if (score > 0) {
+                    offer(top, change.id(), score, after, limit);
+                }
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(top);
+        hits.sort(SearchHit.RANKING);
+        return hits;
+    }
+
+    public int size() {
+        return base.size();
+    }
+
+    public int termCount() {
+        return base.termCount();
+    }
+
+    public int postingCount() {
+        return base.postingCount();
+    }
+
+    public int pendingChanges() {
+        return changes.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("users.search.documents", this, UserSearchIndex::size).register(registry);
+        Gauge.builder("users.search.terms", this, UserSearchIndex::termCount).register(registry);
+        Gauge.builder("users.search.postings", this, UserSearchIndex::postingCount).register(registry);
+        Gauge.builder("users.search.pending.changes", this, UserSearchIndex::pendingChanges).register(registry);
+    }
+
+    private void offer(PriorityQueue<SearchHit> top, long id, float score, SearchHit after, int limit) {
+        if (after != null && (score > after.score() || score == after.score() && id <= after.id())) {
+            return;
+        }
+        if (top.size() == limit) {
+            SearchHit worst = top.peek();
+            if (score < worst.score() || score == worst.score() && id > worst.id()) {
+                return;
+            }
+            top.poll();
+        }
+        top.add(new SearchHit(id, score));
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            log.warn("User search index compaction failed", e);
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("User search index reload failed", e);
+        }
+    }
+
+    private record Change(Long id, SearchDocument document, long sequence) {
+    }
+}
@@ -0,0 +1,285 @@
+package ua.com.restful_for_users.service;
+
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ua.com.restful_for_users.cache.UserCache;
+import ua.com.restful_for_users.changes.UserOutbox;
+import ua.com.restful_for_users.dto.UserPage;
+import ua.com.restful_for_users.email.EmailRegistry;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.entity.UserChangeType;
+import ua.com.restful_for_users.entity.UserField;
+import ua.com.restful_for_users.exception.UserNotFoundException;
+import ua.com.restful_for_users.logging.PayloadLog;
+import ua.com.restful_for_users.repository.ReactiveUserRepository;
+import ua.com.restful_for_users.search.SearchHit;
+import ua.com.restful_for_users.search.UserSearchIndex;
+import ua.com.restful_for_users.snapshot.UserSnapshot;
+import ua.com.restful_for_users.util.CursorUtils;
+import ua.com.restful_for_users.validation.UserAgePolicy;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveUserService {
+    private static final String VERSION_PROPERTY = "version";
+
+    private final ReactiveUserRepository userRepository;
+    private final UserCache userCache;
+    private final Validator validator;
+    private final EmailRegistry emailRegistry;
+    private final UserSnapshot userSnapshot;
+    private final UserSearchIndex userSearchIndex;
+    private final UserOutbox userOutbox;
+    private final TransactionalOperator transactionalOperator;
+    private final UserAgePolicy userAgePolicy;
+    @Value("${user.page.max-limit}")
+    private int maxPageLimit;
+
+    public Mono<UserPage> getUsersPage(String cursor, int limit) {
+        return Mono.defer(() -> {
+            log.info("Getting users page after cursor {} with limit {}", cursor, limit);
+            validateLimit(limit);
+            return userRepository.findPage(CursorUtils.decode(cursor), limit + 1)
+                    .collectList()
+                    .map(users -> toPage(users, limit, user -> CursorUtils.encode(user.getId())));
+        });
+    }
+
+    public Flux<User> streamAllUsers() {
+        log.info("Streaming all users");
+        return userRepository.streamAll();
+    }
+
+    public Mono<User> getUserById(Long userId) {
+        log.info("Getting user with ID {}", userId);
+        return Mono.justOrEmpty(userCache.getIfPresent(userId))
+                .switchIfEmpty(userRepository.findById(userId))
+                .switchIfEmpty(Mono.error(() -> notFound(userId)));
+    }
+
+    public Mono<User> createUser(User user) {
+        return Mono.defer(() -> {
+            log.info("Creating user");
+            PayloadLog.debug("Create user payload", user);
+            validateMinAge(user.getBirthDate());
+            return validateEmailAvailable(user.getEmail(), null)
+                    .then(userRepository.insert(user)
+                            .flatMap(created -> record(UserChangeType.CREATED, created))
+                            .as(transactionalOperator::transactional))
+                    .doOnNext(this::publish);
+        });
+    }
+
+    public Mono<User> updateUser(Long userId, Map<String, Object> updates, Long ifMatchVersion) {
+        return Mono.defer(() -> {
+            log.info("Updating user with ID {}", userId);
+            PayloadLog.debug("Update user payload", updates);
+            Map<String, Object> fields = new HashMap<>(updates);
+            Long bodyVersion = toVersion(fields.remove(VERSION_PROPERTY));
+            Long expectedVersion = ifMatchVersion != null ? ifMatchVersion : bodyVersion;
+            EnumMap<UserField, Object> changes = UserField.convert(fields);
+            validateChanges(changes);
+            Mono<Void> emailCheck = changes.containsKey(UserField.EMAIL)
+                    ? validateEmailAvailable((String) changes.get(UserField.EMAIL), userId)
+                    : Mono.empty();
+            return emailCheck.then(patch(userId, changes, expectedVersion));
+        });
+    }
+
+    public Mono<User> updateAllUserFields(Long userId, User user, Long ifMatchVersion) {
+        return Mono.defer(() -> {
+            log.info("Updating all fields for user with ID {}", userId);
+            PayloadLog.debug("Update all user fields payload", user);
+            return validateEmailAvailable(user.getEmail(), userId)
+                    .then(patch(userId, UserField.valuesOf(user), ifMatchVersion));
+        });
+    }
+
+    public Mono<Void> deleteUser(Long userId) {
+        log.info("Deleting user with ID {}", userId);
+        return userRepository.softDeleteById(userId)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(notFound(userId))
+                        : userRepository.insertChange(userId, UserChangeType.DELETED, null).thenReturn(deleted))
+                .as(transactionalOperator::transactional)
+                .doOnNext(deleted -> {
+                    userSnapshot.remove(userId);
+                    userSearchIndex.remove(userId);
+                    userCache.evict(userId);
+                })
+                .then();
+    }
+
+    public Mono<Boolean> emailExists(String email) {
+        log.info("Checking email availability");
+        return email == null ? Mono.just(false) : userRepository.existsByEmail(email);
+    }
+
+    public Mono<UserPage> searchUsersPage(LocalDate from, LocalDate to, String cursor, int limit) {
+        return Mono.defer(() -> {
+            log.info("Searching for users between {} and {} after cursor {} with limit {}", from, to, cursor, limit);
+            validateDateRange(from, to);
+            validateLimit(limit);
+            CursorUtils.BirthDateCursor after = CursorUtils.decodeBirthDate(cursor);
+            LocalDate afterBirthDate = after == null ? null : after.birthDate();
+            Long afterId = after == null ? null : after.id();
+            Mono<List<User>> users = userSnapshot.isReady()
+                    ? Mono.fromSupplier(() -> userSnapshot.search(from, to, afterBirthDate, afterId, limit + 1))
+                    : userRepository.findByBirthDateBetween(from, to, afterBirthDate, afterId, limit + 1).collectList();
+            return users.map(page -> toPage(page, limit, user -> CursorUtils.encodeBirthDate(user.getBirthDate(), user.getId())));
+        });
+    }
+
+    public Flux<User> streamUsersByBirthDateRange(LocalDate from, LocalDate to) {
+        return Flux.defer(() -> {
+            log.info("Streaming users between {} and {}", from, to);
+            validateDateRange(from, to);
+            return userRepository.streamByBirthDateBetween(from, to);
+        });
+    }
+
+    public Mono<Long> countUsersByBirthDateRange(LocalDate from, LocalDate to) {
+        return Mono.defer(() -> {
+            log.info("Counting users between {} and {}", from, to);
+            validateDateRange(from, to);
+            return userRepository.countByBirthDateBetween(from, to);
+        });
+    }
+
+    public Mono<UserPage> searchUsersByText(String query, String cursor, int limit) {
+        return Mono.defer(() -> {
+            log.info("Searching for users by text after cursor {} with limit {}", cursor, limit);
+            validateLimit(limit);
+            CursorUtils.ScoreCursor after = CursorUtils.decodeScore(cursor);
+            List<SearchHit> hits = userSearchIndex.search(query, after == null ? null : after.score(),
+                    after == null ? null : after.id(), limit + 1);
+            List<SearchHit> page = hits.size() <= limit ? hits : hits.subList(0, limit);
+            return userRepository.findAllById(page.stream().map(SearchHit::id).toList())
+                    .collect(Collectors.toMap(User::getId, Function.identity()))
+                    .map(usersById -> {
+                        List<User> users = page.stream()
+                                .map(hit -> usersById.get(hit.id()))
+                                .filter(Objects::nonNull)
+                                .toList();
+                        if (hits.size() <= limit) {
+                            return new UserPage(users, null);
+                        }
+                        SearchHit last = page.get(limit - 1);
+                        return new UserPage(users, CursorUtils.encodeScore(last.score(), last.id()));
+                    });
+        });
+    }
+
+    private Mono<User> patch(Long userId, Map<UserField, Object> changes, Long expectedVersion) {
+        if (changes.isEmpty()) {
+            return userRepository.patch(userId, changes, expectedVersion)
+                    .switchIfEmpty(Mono.defer(() -> patchFailure(userId, expectedVersion)));
+        }
+        return userRepository.patch(userId, changes, expectedVersion)
+                .flatMap(updated -> record(UserChangeType.UPDATED, updated))
+                .as(transactionalOperator::transactional)
+                .switchIfEmpty(Mono.defer(() -> patchFailure(userId, expectedVersion)))
+                .doOnNext(this::publish);
+    }
+
+    private Mono<User> patchFailure(Long userId, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.error(notFound(userId));
+        }
+        return userRepository.existsById(userId)
+                .flatMap(exists -> Mono.error(exists
+                        ? new OptimisticLockingFailureException("User with id " + userId + " was modified concurrently")
+                        : notFound(userId)));
+    }
+
+    private Mono<User> record(UserChangeType type, User user) {
+        return userRepository.insertChange(user.getId(), type, userOutbox.toPayload(user)).thenReturn(user);
+    }
+
+    private void publish(User user) {
+        emailRegistry.register(user.getEmail());
+        userSnapshot.apply(user);
+        userSearchIndex.apply(user);
+        userCache.put(user);
+    }
+
+    private Mono<Void> validateEmailAvailable(String email, Long userId) {
+        if (!emailRegistry.mightBeTaken(email)) {
+            return Mono.empty();
+        }
+        Mono<Boolean> taken = userId == null
+                ? userRepository.existsByEmail(email)
+                : userRepository.existsByEmailAndIdNot(email, userId);
+        return taken.flatMap(exists -> exists
+                ? Mono.error(new IllegalArgumentException("Email is already in use."))
+                : Mono.empty());
+    }
+
+    private void validateMinAge(LocalDate birthDate) {
+        String error = userAgePolicy.check(birthDate);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    private void validateDateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("From date must be before To date.");
+        }
+    }
+
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageLimit + ".");
+        }
+    }
+
+    private void validateChanges(Map<UserField, Object> changes) {
+        List<String> errors = new ArrayList<>();
+        changes.forEach((field, value) -> validator.validateValue(User.class, field.getProperty(), value)
+                .forEach(violation -> errors.add(violation.getMessage())));
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+        if (changes.containsKey(UserField.BIRTH_DATE)) {
+            validateMinAge((LocalDate) changes.get(UserField.BIRTH_DATE));
+        }
+    }
+
+    private Long toVersion(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        throw new IllegalArgumentException("Invalid version: " + value);
+    }
+
+    private static UserPage toPage(List<User> users, int limit, Function<User, String> cursor) {
+        if (users.size() <= limit) {
+            return new UserPage(users, null);
+        }
+        List<User> page = users.subList(0, limit);
+        return new UserPage(page, cursor.apply(page.get(limit - 1)));
+    }
+
+    private static UserNotFoundException notFound(Long userId) {
+        return new UserNotFoundException(userId);
+    }
+}
@@ -0,0 +1,254 @@
+package ua.com.restful_for_users.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.restful_for_users.cache.UserCache;
+import ua.com.restful_for_users.changes.UserOutbox;
+import ua.com.restful_for_users.dto.BatchItemResult;
+import ua.com.restful_for_users.dto.BatchResult;
+import ua.com.restful_for_users.email.EmailRegistry;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.entity.UserChangeType;
+import ua.com.restful_for_users.repository.UserRepository;
+import ua.com.restful_for_users.search.UserSearchIndex;
+import ua.com.restful_for_users.snapshot.UserSnapshot;
+import ua.com.restful_for_users.util.TransactionUtils;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserBatchService {
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final UserCache userCache;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final EmailRegistry emailRegistry;
+    private final UserSnapshot userSnapshot;
+    private final UserSearchIndex userSearchIndex;
+    private final UserOutbox userOutbox;
+    @Value("${user.batch.chunk-size}")
+    private int chunkSize;
+    @Value("${user.batch.max-size}")
+    private int maxBatchSize;
+
+    public BatchResult createUsers(List<User> users) {
+        log.info("Creating {} users in batch", users.size());
+        checkBatchSize(users.size());
+        BatchItemResult[] results = new BatchItemResult[users.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            String error = validateNew(user);
+            if (error == null) {
+                valid.add(i);
+            } else {
+                results[i] = BatchItemResult.failed(i, null, error);
+            }
+        }
+        insert(users, valid, results);
+        return BatchResult.of(results);
+    }
+
+    public BatchResult createValidatedUsers(List<User> users) {
+        BatchItemResult[] results = new BatchItemResult[users.size()];
+        List<Integer> all = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            all.add(i);
+        }
+        insert(users, all, results);
+        return BatchResult.of(results);
+    }
+
+    public BatchResult updateUsers(List<Map<String, Object>> updates) {
+        log.info("Updating {} users in batch", updates.size());
+        checkBatchSize(updates.size());
+        BatchItemResult[] results = new BatchItemResult[updates.size()];
+        Map<Integer, Long> ids = new HashMap<>();
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            if (updates.get(i).get("id") instanceof Number id) {
+                ids.put(i, id.longValue());
+                valid.add(i);
+            } else {
+                results[i] = BatchItemResult.failed(i, null, "User id is required");
+            }
+        }
+        writeInChunks(valid, results, chunk -> {
+            Map<Long, User> existingUsers = userRepository.findAllById(chunk.stream().map(ids::get).toList()).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+            Map<Integer, BatchItemResult> chunkResults = new HashMap<>();
+            List<User> updatedUsers = new ArrayList<>();
+            for (Integer index : chunk) {
+                Long id = ids.get(index);
+                User user = existingUsers.get(id);
+                String error = user == null ? "User not found with id: " + id : applyUpdates(user, updates.get(index));
+                if (error == null) {
+                    updatedUsers.add(user);
+                    chunkResults.put(index, BatchItemResult.succeeded(index, id));
+                } else {
+                    if (user != null) {
+                        entityManager.detach(user);
+                    }
+                    chunkResults.put(index, BatchItemResult.failed(index, id, error));
+                }
+            }
+            userRepository.flush();
+            userOutbox.recordAll(UserChangeType.UPDATED, updatedUsers);
+            flushAndClear();
+            TransactionUtils.afterCommit(() -> publish(updatedUsers));
+            return chunkResults;
+        });
+        evictSucceeded(results);
+        return BatchResult.of(results);
+    }
+
+    public BatchResult deleteUsers(List<Long> userIds) {
+        log.info("Deleting {} users in batch", userIds.size());
+        checkBatchSize(userIds.size());
+        BatchItemResult[] results = new BatchItemResult[userIds.size()];
+        List<Integer> all = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            all.add(i);
+        }
+        writeInChunks(all, results, chunk -> {
+            Set<Long> existingIds = new HashSet<>(userRepository.findExistingIds(chunk.stream().map(userIds::get).toList()));
+            userRepository.softDeleteAll(existingIds);
+            userOutbox.recordDeleted(existingIds);
+            Map<Integer, BatchItemResult> chunkResults = new HashMap<>();
+            for (Integer index : chunk) {
+                Long id = userIds.get(index);
+                chunkResults.put(index, existingIds.remove(id)
+                        ? BatchItemResult.succeeded(index, id)
+                        : BatchItemResult.failed(index, id, "User not found with id: " + id));
+            }
+            return chunkResults;
+        });
+        evictSucceeded(results);
+        Arrays.stream(results)
+                .filter(BatchItemResult::success)
+                .forEach(result -> {
+                    userSnapshot.remove(result.id());
+                    userSearchIndex.remove(result.id());
+                });
+        return BatchResult.of(results);
+    }
+
+    public String validate(User user) {
+        Set<ConstraintViolation<User>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    public String validateNew(User user) {
+        String error = validate(user);
+        if (error == null && emailRegistry.isTaken(user.getEmail())) {
+            return "Email is already in use.";
+        }
+        return error;
+    }
+
+    private void insert(List<User> users, List<Integer> indexes, BatchItemResult[] results) {
+        writeInChunks(indexes, results, chunk -> {
+            List<User> chunkUsers = chunk.stream().map(users::get).toList();
+            chunkUsers.forEach(user -> {
+                user.setId(null);
+                user.setVersion(null);
+            });
+            userRepository.saveAll(chunkUsers);
+            userRepository.flush();
+            userOutbox.recordAll(UserChangeType.CREATED, chunkUsers);
+            flushAndClear();
+            TransactionUtils.afterCommit(() -> publish(chunkUsers));
+            Map<Integer, BatchItemResult> chunkResults = new HashMap<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                chunkResults.put(chunk.get(i), BatchItemResult.succeeded(chunk.get(i), chunkUsers.get(i).getId()));
+            }
+            return chunkResults;
+        });
+    }
+
+    private void writeInChunks(List<Integer> indexes, BatchItemResult[] results,
+                               Function<List<Integer>, Map<Integer, BatchItemResult>> chunkWriter) {
+        for (int from = 0; from < indexes.size(); from += chunkSize) {
+            List<Integer> chunk = indexes.subList(from, Math.min(from + chunkSize, indexes.size()));
+            try {
+                transactionTemplate.execute(status -> chunkWriter.apply(chunk)).forEach((index, result) -> results[index] = result);
+            } catch (DataAccessException e) {
+                log.warn("Batch chunk of {} items failed, retrying items one by one", chunk.size());
+                entityManager.clear();
+                for (Integer index : chunk) {
+                    try {
+                        results[index] = transactionTemplate.execute(status -> chunkWriter.apply(List.of(index))).get(index);
+                    } catch (DataAccessException itemException) {
+                        entityManager.clear();
+                        results[index] = BatchItemResult.failed(index, null, getMessage(itemException));
+                    }
+                }
+            }
+        }
+    }
+
+    private String applyUpdates(User user, Map<String, Object> updates) {
+        Map<String, Object> fields = new HashMap<>(updates);
+        fields.remove("id");
+        try {
+            userService.applyUpdates(user, fields);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+        String error = validate(user);
+        if (error == null && fields.containsKey("email") && emailRegistry.isTakenByOther(user.getEmail(), user.getId())) {
+            return "Email is already in use.";
+        }
+        return error;
+    }
+
+    private void publish(List<User> users) {
+        users.forEach(user -> {
+            emailRegistry.register(user.getEmail());
+            userSnapshot.apply(user);
+            userSearchIndex.apply(user);
+        });
+    }
+
+    private void flushAndClear() {
+        userRepository.flush();
+        entityManager.clear();
+    }
+
+    private void evictSucceeded(BatchItemResult[] results) {
+        Arrays.stream(results)
+                .filter(BatchItemResult::success)
+                .forEach(result -> userCache.evict(result.id()));
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size must not exceed " + maxBatchSize + ".");
+        }
+    }
+
+    private static String getMessage(DataAccessException e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        return cause.getMessage();
+    }
+}
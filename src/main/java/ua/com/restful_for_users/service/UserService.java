@@ -1,73 +1,166 @@
 package ua.com.restful_for_users.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ua.com.restful_for_users.cache.UserCache;
+import ua.com.restful_for_users.changes.UserOutbox;
+import ua.com.restful_for_users.coalescing.ReadCoalescer;
+import ua.com.restful_for_users.datasource.ReplicaRouting;
+import ua.com.restful_for_users.dto.UserPage;
+import ua.com.restful_for_users.dto.UserVersion;
+import ua.com.restful_for_users.dto.UserVersionPage;
+import ua.com.restful_for_users.email.EmailRegistry;
 import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.entity.UserChangeType;
+import ua.com.restful_for_users.entity.UserField;
+import ua.com.restful_for_users.exception.UserNotFoundException;
+import ua.com.restful_for_users.logging.PayloadLog;
 import ua.com.restful_for_users.repository.UserRepository;
+import ua.com.restful_for_users.search.SearchHit;
+import ua.com.restful_for_users.search.UserSearchIndex;
+import ua.com.restful_for_users.snapshot.UserSnapshot;
+import ua.com.restful_for_users.util.CursorUtils;
+import ua.com.restful_for_users.util.TransactionUtils;
+import ua.com.restful_for_users.validation.UserAgePolicy;
 
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserService {
+    private static final String VERSION_PROPERTY = "version";
+
     private final UserRepository userRepository;
-    @Value("${user.age.min}")
-    private int minUserAge;
+    private final EntityManager entityManager;
+    private final UserCache userCache;
+    private final Validator validator;
+    private final EmailRegistry emailRegistry;
+    private final UserSnapshot userSnapshot;
+    private final UserSearchIndex userSearchIndex;
+    private final UserOutbox userOutbox;
+    private final UserAgePolicy userAgePolicy;
+    private final ReadCoalescer readCoalescer;
+    @Value("${user.page.max-limit}")
+    private int maxPageLimit;
 
-    public List<User> getAllUsers() {
-        log.info("Getting all users");
-        return userRepository.findAll();
+    public UserPage getUsersPage(String cursor, int limit) {
+        log.info("Getting users page after cursor {} with limit {}", cursor, limit);
+        validateLimit(limit);
+        Long afterId = CursorUtils.decode(cursor);
+        List<User> users = readCoalescer.read(Arrays.asList("page", afterId, limit),
+                () -> userRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit + 1)), UserService::copyUsers);
+        if (users.size() <= limit) {
+            return new UserPage(users, null);
+        }
+        List<User> page = users.subList(0, limit);
+        return new UserPage(page, CursorUtils.encode(page.get(limit - 1).getId()));
     }
 
-    public User createUser(User user) {
-        log.info("Creating user: {}", user);
-        LocalDate minBirthDate = LocalDate.now().minusYears(minUserAge);
-        if (user.getBirthDate().isAfter(minBirthDate)) {
-            throw new IllegalArgumentException("User must be at least " + minUserAge + " years old.");
+    public UserVersionPage getUsersPageVersions(String cursor, int limit) {
+        log.info("Getting user versions page after cursor {} with limit {}", cursor, limit);
+        validateLimit(limit);
+        Long afterId = CursorUtils.decode(cursor);
+        List<UserVersion> versions = readCoalescer.read(Arrays.asList("versions", afterId, limit),
+                () -> userRepository.findVersionsAfter(afterId, Limit.of(limit + 1)), UnaryOperator.identity());
+        if (versions.size() <= limit) {
+            return new UserVersionPage(versions, null);
+        }
+        List<UserVersion> page = versions.subList(0, limit);
+        return new UserVersionPage(page, CursorUtils.encode(page.get(limit - 1).id()));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<User> consumer) {
+        log.info("Streaming all users");
+        try (Stream<User> users = userRepository.streamAllByOrderByIdAsc()) {
+            users.forEach(user -> {
+                consumer.accept(user);
+                entityManager.detach(user);
+            });
         }
-        return userRepository.save(user);
     }
 
+    public User getUserById(Long userId) {
+        log.info("Getting user with ID {}", userId);
+        return findUser(userId);
+    }
+
+    public UserVersion getUserVersion(Long userId) {
+        log.info("Getting version of user with ID {}", userId);
+        return userCache.getIfPresent(userId)
+                .map(UserVersion::of)
+                .or(() -> readCoalescer.read(Arrays.asList("version", userId),
+                        () -> userRepository.findVersionById(userId), UnaryOperator.identity()))
+                .orElseThrow(() -> new UserNotFoundException(userId));
+    }
+
+    @Transactional
+    public User createUser(User user) {
+        log.info("Creating user");
+        PayloadLog.debug("Create user payload", user);
+        validateMinAge(user.getBirthDate());
+        validateEmailAvailable(user.getEmail(), null);
+        User createdUser = userRepository.saveAndFlush(user);
+        userOutbox.record(UserChangeType.CREATED, createdUser);
+        TransactionUtils.afterCommit(() -> publish(createdUser));
+        return createdUser;
+    }
+
+    @Transactional
     public User updateUser(Long userId, Map<String, Object> updates) {
-        log.info("Updating user with ID {}: {}", userId, updates);
-        User existingUser = userRepository.findById(userId).orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
-        updates.forEach((key, value) -> {
-            switch (key) {
-                case "email":
-                    existingUser.setEmail((String) value);
-                    break;
-                case "firstName":
-                    existingUser.setFirstName((String) value);
-                    break;
-                case "lastName":
-                    existingUser.setLastName((String) value);
-                    break;
-                case "birthDate":
-                    existingUser.setBirthDate((LocalDate) value);
-                    break;
-                case "address":
-                    existingUser.setAddress((String) value);
-                    break;
-                case "phoneNumber":
-                    existingUser.setPhoneNumber((String) value);
-                    break;
-                default:
-                    throw new IllegalArgumentException("Invalid field: " + key);
-            }
-        });
+        return updateUser(userId, updates, null);
+    }
 
-        // Save updated user
-        return userRepository.save(existingUser);
+    @Transactional
+    public User updateUser(Long userId, Map<String, Object> updates, Long ifMatchVersion) {
+        log.info("Updating user with ID {}", userId);
+        PayloadLog.debug("Update user payload", updates);
+        Map<String, Object> fields = new HashMap<>(updates);
+        Long bodyVersion = toVersion(fields.remove(VERSION_PROPERTY));
+        Long expectedVersion = ifMatchVersion != null ? ifMatchVersion : bodyVersion;
+        EnumMap<UserField, Object> changes = UserField.convert(fields);
+        validateChanges(changes);
+        if (changes.containsKey(UserField.EMAIL)) {
+            validateEmailAvailable((String) changes.get(UserField.EMAIL), userId);
+        }
+        User updatedUser = userRepository.patch(userId, changes, expectedVersion)
+                .orElseThrow(() -> patchFailure(userId, expectedVersion));
+        if (changes.isEmpty()) {
+            return updatedUser;
+        }
+        userOutbox.record(UserChangeType.UPDATED, updatedUser);
+        TransactionUtils.afterCommit(() -> publish(updatedUser));
+        return updatedUser;
     }
 
+    @Transactional
     public User updateAllUserFields(Long userId, User user) {
-        log.info("Updating all fields for user with ID {}: {}", userId, user);
-        User existingUser = userRepository.findById(userId).orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
+        return updateAllUserFields(userId, user, null);
+    }
+
+    @Transactional
+    public User updateAllUserFields(Long userId, User user, Long ifMatchVersion) {
+        log.info("Updating all fields for user with ID {}", userId);
+        PayloadLog.debug("Update all user fields payload", user);
+        User existingUser = findUser(userId);
+        if (ifMatchVersion != null && !ifMatchVersion.equals(existingUser.getVersion())) {
+            throw new OptimisticLockingFailureException("User with id " + userId + " was modified concurrently");
+        }
+        if (!Objects.equals(existingUser.getEmail(), user.getEmail())) {
+            validateEmailAvailable(user.getEmail(), userId);
+        }
         existingUser.setEmail(user.getEmail());
         existingUser.setFirstName(user.getFirstName());
         existingUser.setLastName(user.getLastName());
@@ -75,23 +168,168 @@ public class UserService {
         existingUser.setAddress(user.getAddress());
         existingUser.setPhoneNumber(user.getPhoneNumber());
 
-        return userRepository.save(existingUser);
+        return saveAndCache(existingUser);
     }
 
+    @Transactional
     public void deleteUser(Long userId) {
         log.info("Deleting user with ID {}", userId);
-        if (!userRepository.existsById(userId)) {
-            throw new IllegalArgumentException("User not found with id: " + userId);
+        if (userRepository.softDelete(userId) == 0) {
+            throw new UserNotFoundException(userId);
         }
-        userRepository.deleteById(userId);
+        userOutbox.recordDeleted(List.of(userId));
+        TransactionUtils.afterCommit(() -> {
+            userSnapshot.remove(userId);
+            userSearchIndex.remove(userId);
+            userCache.evict(userId);
+        });
+    }
+
+    public boolean emailExists(String email) {
+        log.info("Checking email availability");
+        return emailRegistry.exists(email);
     }
 
     public List<User> searchUsersByBirthDateRange(LocalDate from, LocalDate to) {
         log.info("Searching for users between {} and {}", from, to);
+        validateDateRange(from, to);
+        if (userSnapshot.isReady()) {
+            return userSnapshot.search(from, to, null, null, Integer.MAX_VALUE);
+        }
+        return readCoalescer.read(Arrays.asList("range", from, to),
+                () -> userRepository.findByBirthDateBetween(from, to), UserService::copyUsers);
+    }
+
+    public UserPage searchUsersPage(LocalDate from, LocalDate to, String cursor, int limit) {
+        log.info("Searching for users between {} and {} after cursor {} with limit {}", from, to, cursor, limit);
+        validateDateRange(from, to);
+        validateLimit(limit);
+        CursorUtils.BirthDateCursor after = CursorUtils.decodeBirthDate(cursor);
+        LocalDate afterBirthDate = after == null ? null : after.birthDate();
+        Long afterId = after == null ? null : after.id();
+        List<User> users = userSnapshot.isReady()
+                ? userSnapshot.search(from, to, afterBirthDate, afterId, limit + 1)
+                : readCoalescer.read(Arrays.asList("rangePage", from, to, afterBirthDate, afterId, limit),
+                () -> after == null
+                        ? userRepository.findByBirthDateBetweenOrderByBirthDateAscIdAsc(from, to, Limit.of(limit + 1))
+                        : userRepository.findByBirthDateBetweenAfter(from, to, afterBirthDate, afterId, Limit.of(limit + 1)),
+                UserService::copyUsers);
+        if (users.size() <= limit) {
+            return new UserPage(users, null);
+        }
+        List<User> page = users.subList(0, limit);
+        User last = page.get(limit - 1);
+        return new UserPage(page, CursorUtils.encodeBirthDate(last.getBirthDate(), last.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public UserPage searchUsersByText(String query, String cursor, int limit) {
+        log.info("Searching for users by text after cursor {} with limit {}", cursor, limit);
+        validateLimit(limit);
+        CursorUtils.ScoreCursor after = CursorUtils.decodeScore(cursor);
+        List<SearchHit> hits = userSearchIndex.search(query, after == null ? null : after.score(),
+                after == null ? null : after.id(), limit + 1);
+        List<SearchHit> page = hits.size() <= limit ? hits : hits.subList(0, limit);
+        Map<Long, User> usersById = new HashMap<>();
+        userRepository.findAllById(page.stream().map(SearchHit::id).toList())
+                .forEach(user -> usersById.put(user.getId(), user));
+        List<User> users = page.stream()
+                .map(hit -> usersById.get(hit.id()))
+                .filter(Objects::nonNull)
+                .toList();
+        if (hits.size() <= limit) {
+            return new UserPage(users, null);
+        }
+        SearchHit last = page.get(limit - 1);
+        return new UserPage(users, CursorUtils.encodeScore(last.score(), last.id()));
+    }
+
+    public long countUsersByBirthDateRange(LocalDate from, LocalDate to) {
+        log.info("Counting users between {} and {}", from, to);
+        validateDateRange(from, to);
+        return readCoalescer.read(Arrays.asList("count", from, to),
+                () -> userRepository.countByBirthDateBetween(from, to), UnaryOperator.identity());
+    }
+
+    private void validateMinAge(LocalDate birthDate) {
+        String error = userAgePolicy.check(birthDate);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    void applyUpdates(User existingUser, Map<String, Object> updates) {
+        UserField.apply(existingUser, UserField.convert(updates));
+    }
+
+    private void validateDateRange(LocalDate from, LocalDate to) {
         if (from.isAfter(to)) {
             throw new IllegalArgumentException("From date must be before To date.");
         }
-        return userRepository.findByBirthDateBetween(from, to);
     }
 
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageLimit + ".");
+        }
+    }
+
+    private void validateChanges(Map<UserField, Object> changes) {
+        List<String> errors = new ArrayList<>();
+        changes.forEach((field, value) -> validator.validateValue(User.class, field.getProperty(), value)
+                .forEach(violation -> errors.add(violation.getMessage())));
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+        if (changes.containsKey(UserField.BIRTH_DATE)) {
+            validateMinAge((LocalDate) changes.get(UserField.BIRTH_DATE));
+        }
+    }
+
+    private void validateEmailAvailable(String email, Long userId) {
+        boolean taken = userId == null ? emailRegistry.isTaken(email) : emailRegistry.isTakenByOther(email, userId);
+        if (taken) {
+            throw new IllegalArgumentException("Email is already in use.");
+        }
+    }
+
+    private Long toVersion(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        throw new IllegalArgumentException("Invalid version: " + value);
+    }
+
+    private RuntimeException patchFailure(Long userId, Long expectedVersion) {
+        if (expectedVersion != null && userRepository.existsById(userId)) {
+            return new OptimisticLockingFailureException("User with id " + userId + " was modified concurrently");
+        }
+        return new UserNotFoundException(userId);
+    }
+
+    private User findUser(Long userId) {
+        return userCache.get(userId, id -> ReplicaRouting.onPrimary(() -> userRepository.findById(id)))
+                .orElseThrow(() -> new UserNotFoundException(userId));
+    }
+
+    private User saveAndCache(User user) {
+        User savedUser = userRepository.saveAndFlush(user);
+        userOutbox.record(UserChangeType.UPDATED, savedUser);
+        TransactionUtils.afterCommit(() -> publish(savedUser));
+        return savedUser;
+    }
+
+    private void publish(User user) {
+        emailRegistry.register(user.getEmail());
+        userSnapshot.apply(user);
+        userSearchIndex.apply(user);
+        userCache.put(user);
+    }
+
+    private static List<User> copyUsers(List<User> users) {
+        return users.stream().map(user -> user.toBuilder().build()).toList();
+    }
 }
@@ -0,0 +1,148 @@
+package ua.com.restful_for_users.snapshot;
+
+import ua.com.restful_for_users.entity.User;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+public final class ColumnarUsers {
+    static final ColumnarUsers EMPTY = new Builder().build();
+
+    private final int size;
+    private final LongBuffer ids;
+    private final IntBuffer birthDays;
+    private final LongBuffer versions;
+    private final LongBuffer updatedAtMicros;
+    private final StringColumn emails;
+    private final StringColumn firstNames;
+    private final StringColumn lastNames;
+    private final StringColumn addresses;
+    private final StringColumn phoneNumbers;
+
+    private ColumnarUsers(Builder builder) {
+        this.size = builder.size;
+        this.ids = allocateLongs(builder.ids, size);
+        this.birthDays = allocateInts(builder.birthDays, size);
+        this.versions = allocateLongs(builder.versions, size);
+        this.updatedAtMicros = allocateLongs(builder.updatedAtMicros, size);
+        this.emails = builder.emails.build(size);
+        this.firstNames = builder.firstNames.build(size);
+        this.lastNames = builder.lastNames.build(size);
+        this.addresses = builder.addresses.build(size);
+        this.phoneNumbers = builder.phoneNumbers.build(size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long id(int row) {
+        return ids.get(row);
+    }
+
+    public int birthDay(int row) {
+        return birthDays.get(row);
+    }
+
+    public int lowerBound(int birthDay, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(birthDays.get(mid), ids.get(mid), birthDay, id) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public User user(int row) {
+        long micros = updatedAtMicros.get(row);
+        return User.builder()
+                .id(ids.get(row))
+                .email(emails.get(row))
+                .firstName(firstNames.get(row))
+                .lastName(lastNames.get(row))
+                .birthDate(LocalDate.ofEpochDay(birthDays.get(row)))
+                .address(addresses.get(row))
+                .phoneNumber(phoneNumbers.get(row))
+                .version(versions.get(row))
+                .updatedAt(micros == Long.MIN_VALUE ? null : Instant.EPOCH.plus(micros, ChronoUnit.MICROS))
+                .build();
+    }
+
+    public long memoryBytes() {
+        return (long) size * (Long.BYTES * 3 + Integer.BYTES)
+                + emails.memoryBytes() + firstNames.memoryBytes() + lastNames.memoryBytes()
+                + addresses.memoryBytes() + phoneNumbers.memoryBytes();
+    }
+
+    static int compare(int birthDay, long id, int otherBirthDay, long otherId) {
+        int result = Integer.compare(birthDay, otherBirthDay);
+        return result != 0 ? result : Long.compare(id, otherId);
+    }
+
+    private static LongBuffer allocateLongs(long[] values, int size) {
+        LongBuffer buffer = ByteBuffer.allocateDirect(size * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+        buffer.put(values, 0, size).flip();
+        return buffer;
+    }
+
+    private static IntBuffer allocateInts(int[] values, int size) {
+        IntBuffer buffer = ByteBuffer.allocateDirect(size * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        buffer.put(values, 0, size).flip();
+        return buffer;
+    }
+
+    public static final class Builder {
+        private int size;
+        private long[] ids = new long[1024];
+        private int[] birthDays = new int[1024];
+        private long[] versions = new long[1024];
+        private long[] updatedAtMicros = new long[1024];
+        private final StringColumn.Builder emails = new StringColumn.Builder();
+        private final StringColumn.Builder firstNames = new StringColumn.Builder();
+        private final StringColumn.Builder lastNames = new StringColumn.Builder();
+        private final StringColumn.Builder addresses = new StringColumn.Builder();
+        private final StringColumn.Builder phoneNumbers = new StringColumn.Builder();
+
+        public Builder append(User user) {
+            int birthDay = (int) user.getBirthDate().toEpochDay();
+            if (size > 0 && compare(birthDays[size - 1], ids[size - 1], birthDay, user.getId()) >= 0) {
+                throw new IllegalStateException("Users must be appended in (birthDate, id) order");
+            }
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                birthDays = Arrays.copyOf(birthDays, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+                updatedAtMicros = Arrays.copyOf(updatedAtMicros, capacity);
+            }
+            ids[size] = user.getId();
+            birthDays[size] = birthDay;
+            versions[size] = user.getVersion() == null ? 0 : user.getVersion();
+            updatedAtMicros[size] = user.getUpdatedAt() == null
+                    ? Long.MIN_VALUE
+                    : ChronoUnit.MICROS.between(Instant.EPOCH, user.getUpdatedAt());
+            emails.add(user.getEmail());
+            firstNames.add(user.getFirstName());
+            lastNames.add(user.getLastName());
+            addresses.add(user.getAddress());
+            phoneNumbers.add(user.getPhoneNumber());
+            size++;
+            return this;
+        }
+
+        public ColumnarUsers build() {
+            return new ColumnarUsers(this);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ua.com.restful_for_users.snapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class StringColumn {
+    private static final int NULL_CODE = -1;
+
+    private final IntBuffer codes;
+    private final IntBuffer offsets;
+    private final ByteBuffer dictionary;
+    private final int dictionarySize;
+
+    private StringColumn(IntBuffer codes, IntBuffer offsets, ByteBuffer dictionary, int dictionarySize) {
+        this.codes = codes;
+        this.offsets = offsets;
+        this.dictionary = dictionary;
+        this.dictionarySize = dictionarySize;
+    }
+
+    String get(int row) {
+        int code = codes.get(row);
+        if (code == NULL_CODE) {
+            return null;
+        }
+        int start = offsets.get(code);
+        byte[] bytes = new byte[offsets.get(code + 1) - start];
+        dictionary.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    int dictionarySize() {
+        return dictionarySize;
+    }
+
+    long memoryBytes() {
+        return (long) codes.capacity() * Integer.BYTES + (long) offsets.capacity() * Integer.BYTES + dictionary.capacity();
+    }
+
+    static final class Builder {
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<byte[]> values = new ArrayList<>();
+        private int[] codes = new int[1024];
+        private int size;
+        private int dictionaryBytes;
+
+        void add(String value) {
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, size * 2);
+            }
+            codes[size++] = value == null ? NULL_CODE : dictionary.computeIfAbsent(value, this::encode);
+        }
+
+        StringColumn build(int rows) {
+            IntBuffer codeBuffer = ByteBuffer.allocateDirect(rows * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+            codeBuffer.put(codes, 0, rows).flip();
+            IntBuffer offsetBuffer = ByteBuffer.allocateDirect((values.size() + 1) * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+            ByteBuffer bytes = ByteBuffer.allocateDirect(dictionaryBytes);
+            for (byte[] value : values) {
+                offsetBuffer.put(bytes.position());
+                bytes.put(value);
+            }
+            offsetBuffer.put(bytes.position()).flip();
+            return new StringColumn(codeBuffer, offsetBuffer, bytes.flip(), values.size());
+        }
+
+        private Integer encode(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            values.add(bytes);
+            dictionaryBytes = Math.addExact(dictionaryBytes, bytes.length);
+            return values.size() - 1;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package ua.com.restful_for_users.snapshot;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.restful_for_users.datasource.ReplicaRouting;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.repository.UserRowMapper;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class UserSnapshot implements MeterBinder {
+    private static final String SNAPSHOT_QUERY =
+            "SELECT id, email, first_name, last_name, birth_date, address, phone_number, version, updated_at " +
+                    "FROM users WHERE birth_date IS NOT NULL AND deleted_at IS NULL ORDER BY birth_date, id";
+    private static final Comparator<User> ORDER = Comparator.comparing(User::getBirthDate).thenComparing(User::getId);
+    private static final long MILLION = 1_000_000L;
+
+    private final boolean enabled;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration compactInterval;
+    private final Duration reloadInterval;
+    private final Map<Long, Change> changes = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile ColumnarUsers base = ColumnarUsers.EMPTY;
+    private volatile boolean ready;
+    private ScheduledExecutorService scheduler;
+
+    public UserSnapshot(DataSource dataSource,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${user.snapshot.enabled}") boolean enabled,
+                        @Value("${user.snapshot.fetch-size}") int fetchSize,
+                        @Value("${user.snapshot.compact-interval}") Duration compactInterval,
+                        @Value("${user.snapshot.reload-interval}") Duration reloadInterval) {
+        this.enabled = enabled;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.compactInterval = compactInterval;
+        this.reloadInterval = reloadInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        reload();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::compactQuietly, compactInterval.toMillis(), compactInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::reloadQuietly, reloadInterval.toMillis(), reloadInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public synchronized void reload() {
+        long started = System.nanoTime();
+        long watermark = sequence.get();
+        ColumnarUsers.Builder builder = new ColumnarUsers.Builder();
+        ReplicaRouting.onPrimary(() -> transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(SNAPSHOT_QUERY,
+                rs -> {
+                    builder.append(UserRowMapper.INSTANCE.mapRow(rs, 0));
+                })));
+        base = builder.build();
+        changes.values().removeIf(change -> change.sequence() <= watermark);
+        ready = true;
+        log.info("User snapshot loaded {} users, {} bytes off-heap ({} bytes per million users) in {} ms",
+                base.size(), base.memoryBytes(), bytesPerMillionUsers(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public synchronized void compact() {
+        if (changes.isEmpty()) {
+            return;
+        }
+        long watermark = sequence.get();
+        List<Change> applied = changes.values().stream()
+                .filter(change -> change.sequence() <= watermark)
+                .toList();
+        Map<Long, Change> byId = new HashMap<>();
+        applied.forEach(change -> byId.put(change.id(), change));
+        List<User> upserts = applied.stream()
+                .map(Change::user)
+                .filter(Objects::nonNull)
+                .sorted(ORDER)
+                .toList();
+        ColumnarUsers current = base;
+        ColumnarUsers.Builder builder = new ColumnarUsers.Builder();
+        int next = 0;
+        for (int row = 0; row < current.size(); row++) {
+            if (byId.containsKey(current.id(row))) {
+                continue;
+            }
+            while (next < upserts.size() && compare(upserts.get(next), current.birthDay(row), current.id(row)) < 0) {
+                builder.append(upserts.get(next++));
+            }
+            builder.append(current.user(row));
+        }
+        while (next < upserts.size()) {
+            builder.append(upserts.get(next++));
+        }
+        base = builder.build();
+        applied.forEach(change -> changes.remove(change.id(), change));
+        log.debug("User snapshot compacted {} changes into {} users", applied.size(), base.size());
+    }
+
+    public void apply(User user) {
+        if (!enabled) {
+            return;
+        }
+        Long id = user.getId();
+        changes.put(id, new Change(id, user.getBirthDate() == null ? null : user.toBuilder().build(), sequence.incrementAndGet()));
+    }
+
+    public void remove(Long userId) {
+        if (enabled) {
+            changes.put(userId, new Change(userId, null, sequence.incrementAndGet()));
+        }
+    }
+
+    public List<User> search(LocalDate from, LocalDate to, LocalDate afterBirthDate, Long afterId, int limit) {
+        Map<Long, Change> pending = Map.copyOf(changes);
+        ColumnarUsers current = base;
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        int afterDay = afterBirthDate == null ? fromDay : (int) afterBirthDate.toEpochDay();
+        long afterKeyId = afterBirthDate == null ? Long.MIN_VALUE : afterId;
+        List<User> upserts = pending.values().stream()
+                .map(Change::user)
+                .filter(Objects::nonNull)
+                .filter(user -> !user.getBirthDate().isBefore(from) && !user.getBirthDate().isAfter(to))
+                .filter(user -> afterBirthDate == null || compare(user, afterDay, afterKeyId) > 0)
+                .sorted(ORDER)
+                .toList();
+        int row = afterBirthDate == null
+                ? current.lowerBound(fromDay, Long.MIN_VALUE)
+                : Math.max(current.lowerBound(fromDay, Long.MIN_VALUE), upperBound(current, afterDay, afterKeyId));
+        List<User> result = new ArrayList<>(Math.min(limit, 1024));
+        int next = 0;
+        while (result.size() < limit) {
+            boolean baseAvailable = row < current.size() && current.birthDay(row) <= toDay;
+            if (baseAvailable && pending.containsKey(current.id(row))) {
+                row++;
+                continue;
+            }
+            boolean upsertAvailable = next < upserts.size();
+            if (!baseAvailable && !upsertAvailable) {
+                break;
+            }
+            if (upsertAvailable && (!baseAvailable || compare(upserts.get(next), current.birthDay(row), current.id(row)) < 0)) {
+                result.add(upserts.get(next++).toBuilder().build());
+            } else {
+                result.add(current.user(row++));
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return base.size();
+    }
+
+    public long memoryBytes() {
+        return base.memoryBytes();
+    }
+
+    public long bytesPerMillionUsers() {
+        ColumnarUsers current = base;
+        return current.size() == 0 ? 0 : current.memoryBytes() * MILLION / current.size();
+    }
+
+    public int pendingChanges() {
+        return changes.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("users.snapshot.rows", this, UserSnapshot::size).register(registry);
+        Gauge.builder("users.snapshot.memory", this, UserSnapshot::memoryBytes).baseUnit("bytes").register(registry);
+        Gauge.builder("users.snapshot.memory.per.million", this, UserSnapshot::bytesPerMillionUsers).baseUnit("bytes").register(registry);
+        Gauge.builder("users.snapshot.pending.changes", this, UserSnapshot::pendingChanges).register(registry);
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            log.warn("User snapshot compaction failed", e);
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("User snapshot reload failed", e);
+        }
+    }
+
+    private static int upperBound(ColumnarUsers users, int birthDay, long id) {
+        return id == Long.MAX_VALUE ? users.lowerBound(birthDay + 1, Long.MIN_VALUE) : users.lowerBound(birthDay, id + 1);
+    }
+
+    private static int compare(User user, int birthDay, long id) {
+        return ColumnarUsers.compare((int) user.getBirthDate().toEpochDay(), user.getId(), birthDay, id);
+    }
+
+    private record Change(Long id, User user, long sequence) {
+    }
+}
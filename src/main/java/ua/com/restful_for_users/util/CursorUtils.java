@@ -0,0 +1,86 @@
+package ua.com.restful_for_users.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@UtilityClass
+public class CursorUtils {
+    private static final String ID_PREFIX = "id:";
+    private static final String BIRTH_DATE_PREFIX = "bd:";
+    private static final String SCORE_PREFIX = "sc:";
+
+    public record BirthDateCursor(LocalDate birthDate, Long id) {
+    }
+
+    public record ScoreCursor(float score, Long id) {
+    }
+
+    public static String encode(Long id) {
+        return encodeRaw(ID_PREFIX + id);
+    }
+
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        String raw = decodeRaw(cursor, ID_PREFIX);
+        try {
+            return Long.parseLong(raw);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public static String encodeBirthDate(LocalDate birthDate, Long id) {
+        return encodeRaw(BIRTH_DATE_PREFIX + birthDate + ":" + id);
+    }
+
+    public static BirthDateCursor decodeBirthDate(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts = decodeRaw(cursor, BIRTH_DATE_PREFIX).split(":");
+        try {
+            return new BirthDateCursor(LocalDate.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public static String encodeScore(float score, Long id) {
+        return encodeRaw(SCORE_PREFIX + score + ":" + id);
+    }
+
+    public static ScoreCursor decodeScore(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts = decodeRaw(cursor, SCORE_PREFIX).split(":");
+        try {
+            return new ScoreCursor(Float.parseFloat(parts[0]), Long.parseLong(parts[1]));
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeRaw(String cursor, String prefix) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        if (!raw.startsWith(prefix)) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return raw.substring(prefix.length());
+    }
+}
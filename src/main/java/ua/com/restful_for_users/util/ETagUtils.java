@@ -0,0 +1,66 @@
+package ua.com.restful_for_users.util;
+
+import lombok.experimental.UtilityClass;
+import ua.com.restful_for_users.dto.UserVersion;
+import ua.com.restful_for_users.dto.UserVersionPage;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+@UtilityClass
+public class ETagUtils {
+    private static final String WILDCARD = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final int PAGE_TAG_BYTES = 16;
+
+    public static String forUser(UserVersion version) {
+        return '"' + String.valueOf(version.version()) + '"';
+    }
+
+    public static String forPage(UserVersionPage page) {
+        MessageDigest digest = sha256();
+        for (UserVersion version : page.versions()) {
+            digest.update((version.id() + ":" + version.version() + ";").getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(String.valueOf(page.nextCursor()).getBytes(StandardCharsets.UTF_8));
+        byte[] hash = digest.digest();
+        return WEAK_PREFIX + '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, PAGE_TAG_BYTES)) + '"';
+    }
+
+    public static long lastModified(UserVersionPage page) {
+        return page.versions().stream()
+                .filter(version -> version.updatedAt() != null)
+                .mapToLong(version -> version.updatedAt().toEpochMilli())
+                .max()
+                .orElse(-1);
+    }
+
+    public static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || WILDCARD.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith(WEAK_PREFIX)) {
+            throw new IllegalArgumentException("Weak ETags cannot be used with If-Match: " + ifMatch);
+        }
+        if (tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid If-Match ETag: " + ifMatch);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
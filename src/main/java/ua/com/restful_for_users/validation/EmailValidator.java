@@ -0,0 +1,44 @@
+package ua.com.restful_for_users.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class EmailValidator implements ConstraintValidator<ValidEmail, CharSequence> {
+    private static final long[] LOCAL = new long[2];
+    private static final long[] DOMAIN = new long[2];
+
+    static {
+        allow(LOCAL, "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789+_.-");
+        allow(DOMAIN, "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789.-");
+    }
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return value == null || isValidEmail(value);
+    }
+
+    public static boolean isValidEmail(CharSequence value) {
+        int length = value.length();
+        int at = -1;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '@' && at < 0) {
+                at = i;
+            } else if (!allowed(at < 0 ? LOCAL : DOMAIN, c)) {
+                return false;
+            }
+        }
+        return at > 0 && at < length - 1;
+    }
+
+    private static boolean allowed(long[] mask, char c) {
+        return c < 128 && (mask[c >>> 6] & (1L << c)) != 0;
+    }
+
+    private static void allow(long[] mask, String chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            char c = chars.charAt(i);
+            mask[c >>> 6] |= 1L << c;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ua.com.restful_for_users.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import lombok.RequiredArgsConstructor;
+import ua.com.restful_for_users.entity.User;
+
+@RequiredArgsConstructor
+public class MinAgeValidator implements ConstraintValidator<MinAge, User> {
+    private static final String BIRTH_DATE = "birthDate";
+
+    private final UserAgePolicy userAgePolicy;
+
+    @Override
+    public boolean isValid(User user, ConstraintValidatorContext context) {
+        if (user == null) {
+            return true;
+        }
+        String error = userAgePolicy.check(user.getBirthDate());
+        if (error == null) {
+            return true;
+        }
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(error)
+                .addPropertyNode(BIRTH_DATE)
+                .addConstraintViolation();
+        return false;
+    }
+}
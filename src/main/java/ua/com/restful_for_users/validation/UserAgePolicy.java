@@ -0,0 +1,47 @@
+package ua.com.restful_for_users.validation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+@Component
+public class UserAgePolicy {
+    private static final String BIRTH_DATE_REQUIRED = "Birth date is required.";
+
+    private final int minAge;
+    private final String tooYoung;
+    private volatile Threshold threshold = new Threshold(LocalDate.MIN, Long.MIN_VALUE);
+
+    public UserAgePolicy(@Value("${user.age.min}") int minAge) {
+        this.minAge = minAge;
+        this.tooYoung = "User must be at least " + minAge + " years old.";
+    }
+
+    public int getMinAge() {
+        return minAge;
+    }
+
+    public String check(LocalDate birthDate) {
+        if (birthDate == null) {
+            return BIRTH_DATE_REQUIRED;
+        }
+        return birthDate.isAfter(latestBirthDate()) ? tooYoung : null;
+    }
+
+    public LocalDate latestBirthDate() {
+        long now = System.currentTimeMillis();
+        Threshold current = threshold;
+        if (now >= current.validUntil()) {
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate today = LocalDate.now(zone);
+            current = new Threshold(today.minusYears(minAge), today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+            threshold = current;
+        }
+        return current.latestBirthDate();
+    }
+
+    private record Threshold(LocalDate latestBirthDate, long validUntil) {
+    }
+}
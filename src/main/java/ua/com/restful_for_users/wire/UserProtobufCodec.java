@@ -0,0 +1,81 @@
+package ua.com.restful_for_users.wire;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import ua.com.restful_for_users.entity.User;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+
+public class UserProtobufCodec {
+    public static final String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType(APPLICATION_PROTOBUF_VALUE);
+    private static final String SCHEMA_LOCATION = "proto/user.proto";
+
+    private final ObjectWriter userWriter;
+    private final ObjectWriter userListWriter;
+    private final ObjectReader userReader;
+    private final ObjectReader userListReader;
+
+    public UserProtobufCodec(ObjectMapper protobufMapper) {
+        NativeProtobufSchema schema = loadSchema();
+        ObjectMapper mapper = protobufMapper.copy()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .addMixIn(User.class, UserMessage.class);
+        this.userWriter = mapper.writerFor(User.class).with(schema.forType("User"));
+        this.userListWriter = mapper.writerFor(UserList.class).with(schema.forType("UserList"));
+        this.userReader = mapper.readerFor(User.class).with(schema.forType("User"));
+        this.userListReader = mapper.readerFor(UserList.class).with(schema.forType("UserList"));
+    }
+
+    public void write(User user, OutputStream out) throws IOException {
+        userWriter.writeValue(out, user);
+    }
+
+    public void writeAll(List<User> users, OutputStream out) throws IOException {
+        userListWriter.writeValue(out, new UserList(users));
+    }
+
+    public byte[] writeAll(List<User> users) throws IOException {
+        return userListWriter.writeValueAsBytes(new UserList(users));
+    }
+
+    public User read(InputStream in) throws IOException {
+        return userReader.readValue(in);
+    }
+
+    public List<User> readAll(InputStream in) throws IOException {
+        UserList users = userListReader.readValue(in);
+        return users.users() == null ? List.of() : users.users();
+    }
+
+    private static NativeProtobufSchema loadSchema() {
+        try {
+            return ProtobufSchemaLoader.std.loadNative(new ClassPathResource(SCHEMA_LOCATION).getURL());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load protobuf schema " + SCHEMA_LOCATION, e);
+        }
+    }
+
+    record UserList(List<User> users) {
+    }
+
+    private abstract static class UserMessage {
+        @JsonProperty(access = JsonProperty.Access.READ_WRITE)
+        abstract void setVersion(Long version);
+
+        @JsonProperty(access = JsonProperty.Access.READ_WRITE)
+        abstract void setUpdatedAt(Instant updatedAt);
+    }
+}
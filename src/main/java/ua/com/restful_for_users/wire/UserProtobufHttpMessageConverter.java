@@ -0,0 +1,93 @@
+package ua.com.restful_for_users.wire;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import ua.com.restful_for_users.entity.User;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+public class UserProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    private final UserProtobufCodec codec;
+
+    public UserProtobufHttpMessageConverter(UserProtobufCodec codec) {
+        super(UserProtobufCodec.APPLICATION_PROTOBUF);
+        this.codec = codec;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return isUsers(ResolvableType.forClass(clazz));
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return isUsers(ResolvableType.forType(type)) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        ResolvableType resolvable = type == null || type == Object.class ? ResolvableType.forClass(clazz) : ResolvableType.forType(type);
+        return isUsers(resolvable) && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readInternal(ResolvableType.forType(type).resolve(Object.class), inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            if (List.class.isAssignableFrom(clazz)) {
+                List<User> users = codec.readAll(inputMessage.getBody());
+                users.forEach(UserProtobufHttpMessageConverter::clearReadOnly);
+                return users;
+            }
+            return clearReadOnly(codec.read(inputMessage.getBody()));
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Invalid protobuf payload: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (value instanceof User user) {
+            codec.write(user, outputMessage.getBody());
+            return;
+        }
+        List<?> values = (List<?>) value;
+        for (Object element : values) {
+            if (!(element instanceof User)) {
+                throw new HttpMessageNotWritableException("Protobuf encoding supports users only, got " + element.getClass().getName());
+            }
+        }
+        @SuppressWarnings("unchecked")
+        List<User> users = (List<User>) values;
+        codec.writeAll(users, outputMessage.getBody());
+    }
+
+    private static User clearReadOnly(User user) {
+        user.setVersion(null);
+        user.setUpdatedAt(null);
+        return user;
+    }
+
+    private static boolean isUsers(ResolvableType type) {
+        Class<?> raw = type.resolve(Object.class);
+        if (User.class.isAssignableFrom(raw)) {
+            return true;
+        }
+        if (!List.class.isAssignableFrom(raw)) {
+            return false;
+        }
+        Class<?> element = type.asCollection().resolveGeneric(0);
+        return element == null || User.class.isAssignableFrom(element);
+    }
+}
@@ -0,0 +1,17 @@
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id           BIGINT                      NOT NULL,
+    email        VARCHAR(255),
+    first_name   VARCHAR(255),
+    last_name    VARCHAR(255),
+    birth_date   DATE,
+    address      VARCHAR(255),
+    phone_number VARCHAR(255),
+    version      BIGINT                      NOT NULL,
+    updated_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE INDEX idx_users_birth_date_id ON users (birth_date, id);
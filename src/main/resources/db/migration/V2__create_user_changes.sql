@@ -0,0 +1,14 @@
+CREATE SEQUENCE user_changes_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE user_changes (
+    id            BIGINT                      NOT NULL,
+    user_id       BIGINT                      NOT NULL,
+    change_type   VARCHAR(16)                 NOT NULL,
+    payload       VARCHAR(4000),
+    created_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    feed_position BIGINT,
+    CONSTRAINT pk_user_changes PRIMARY KEY (id),
+    CONSTRAINT uk_user_changes_feed_position UNIQUE (feed_position)
+);
+
+CREATE INDEX idx_user_changes_created_at ON user_changes (created_at);
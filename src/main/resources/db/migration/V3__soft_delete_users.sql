@@ -0,0 +1,20 @@
+ALTER TABLE users ADD COLUMN deleted_at TIMESTAMP(6) WITH TIME ZONE;
+
+CREATE INDEX idx_users_deleted_at ON users (deleted_at);
+
+CREATE TABLE users_archive (
+    id           BIGINT                      NOT NULL,
+    email        VARCHAR(255),
+    first_name   VARCHAR(255),
+    last_name    VARCHAR(255),
+    birth_date   DATE,
+    address      VARCHAR(255),
+    phone_number VARCHAR(255),
+    version      BIGINT                      NOT NULL,
+    updated_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    deleted_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    archived_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_users_archive PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_users_archive_deleted_at ON users_archive (deleted_at);
@@ -0,0 +1,127 @@
+package ua.com.restful_for_users.archive;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.exception.UserNotFoundException;
+import ua.com.restful_for_users.repository.UserRepository;
+import ua.com.restful_for_users.service.UserService;
+import ua.com.restful_for_users.util.ObjectUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"user.archive.grace-period=0s", "user.archive.batch-size=2",
+        "user.archive.window-start=00:00", "user.archive.window-end=00:00"})
+public class UserArchiverTests {
+    private static final LocalDate FROM = LocalDate.of(1900, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2100, 1, 1);
+
+    @Autowired
+    private UserArchiver userArchiver;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users_archive");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void deleteUser_SoftDeletesAndHidesUserFromReads() {
+        User john = userService.createUser(user("John"));
+        User jane = userService.createUser(user("Jane"));
+
+        userService.deleteUser(john.getId());
+
+        assertTrue(userRepository.findById(john.getId()).isEmpty());
+        assertFalse(userRepository.existsById(john.getId()));
+        assertThrows(UserNotFoundException.class, () -> userService.getUserById(john.getId()));
+        assertEquals(List.of(jane.getId()), userService.searchUsersByBirthDateRange(FROM, TO).stream().map(User::getId).toList());
+        assertEquals(1, userService.countUsersByBirthDateRange(FROM, TO));
+        assertEquals(1, tombstones());
+        assertTrue(userService.emailExists(john.getEmail()));
+        assertThrows(UserNotFoundException.class, () -> userService.deleteUser(john.getId()));
+    }
+
+    @Test
+    void archive_MovesTombstonesToArchiveInBatches() {
+        List<User> deleted = List.of(
+                userService.createUser(user("Anna")),
+                userService.createUser(user("Boris")),
+                userService.createUser(user("Clara")));
+        User live = userService.createUser(user("Dmytro"));
+        deleted.forEach(user -> userService.deleteUser(user.getId()));
+        long archivedBefore = userArchiver.getArchived();
+
+        int archived = userArchiver.archive();
+
+        assertEquals(3, archived);
+        assertEquals(3, userArchiver.getArchived() - archivedBefore);
+        assertEquals(0, tombstones());
+        assertEquals(List.of(live.getId()), jdbcTemplate.queryForList("SELECT id FROM users", Long.class));
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users_archive WHERE deleted_at IS NOT NULL AND archived_at >= deleted_at", Integer.class));
+        assertFalse(userService.emailExists(deleted.get(0).getEmail()));
+        assertEquals(0, userArchiver.archive());
+    }
+
+    @Test
+    void archive_WithinGracePeriod_KeepsTombstones() {
+        User john = userService.createUser(user("John"));
+        userService.deleteUser(john.getId());
+        UserArchiver archiver = new UserArchiver(dataSource, transactionManager, false, 10, Duration.ofHours(1),
+                LocalTime.MIDNIGHT, LocalTime.MIDNIGHT, Duration.ofMinutes(1));
+
+        assertEquals(0, archiver.archive());
+        assertEquals(1, tombstones());
+    }
+
+    @Test
+    void inWindow_HandlesWindowsAcrossMidnight() {
+        LocalTime two = LocalTime.of(2, 0);
+        LocalTime five = LocalTime.of(5, 0);
+        LocalTime twentyTwo = LocalTime.of(22, 0);
+
+        assertTrue(UserArchiver.inWindow(LocalTime.of(3, 0), two, five));
+        assertFalse(UserArchiver.inWindow(five, two, five));
+        assertFalse(UserArchiver.inWindow(LocalTime.NOON, two, five));
+        assertTrue(UserArchiver.inWindow(LocalTime.of(23, 30), twentyTwo, two));
+        assertTrue(UserArchiver.inWindow(LocalTime.of(1, 0), twentyTwo, two));
+        assertFalse(UserArchiver.inWindow(LocalTime.NOON, twentyTwo, two));
+        assertTrue(UserArchiver.inWindow(LocalTime.NOON, two, two));
+    }
+
+    private static User user(String name) {
+        User user = ObjectUtils.getUser(name);
+        user.setBirthDate(LocalDate.of(1990, 1, 1));
+        return user;
+    }
+
+    private int tombstones() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE deleted_at IS NOT NULL", Integer.class);
+    }
+}
@@ -0,0 +1,81 @@
+package ua.com.restful_for_users.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.util.ObjectUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserCacheTests {
+    private LocalUserCacheInvalidationBus bus;
+    private UserCache firstInstance;
+    private UserCache secondInstance;
+
+    @BeforeEach
+    void setUp() {
+        bus = new LocalUserCacheInvalidationBus();
+        firstInstance = new UserCache(bus, 2, Duration.ofMinutes(1));
+        secondInstance = new UserCache(bus, 2, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void get_ReturnsCopyOfCachedUser() {
+        User user = getUser(1L, "John");
+        firstInstance.put(user);
+
+        User cached = firstInstance.get(1L, id -> Optional.empty()).orElseThrow();
+        cached.setFirstName("Changed");
+
+        assertEquals("John", firstInstance.get(1L, id -> Optional.empty()).orElseThrow().getFirstName());
+    }
+
+    @Test
+    void get_MissingUser_IsNotCached() {
+        assertTrue(firstInstance.get(1L, id -> Optional.empty()).isEmpty());
+        assertFalse(firstInstance.contains(1L));
+        assertEquals(1, firstInstance.stats().missCount());
+    }
+
+    @Test
+    void put_InvalidatesOtherInstancesOnly() {
+        firstInstance.put(getUser(1L, "John"));
+        secondInstance.put(getUser(1L, "John"));
+
+        firstInstance.put(getUser(1L, "Jack"));
+
+        assertTrue(firstInstance.contains(1L));
+        assertFalse(secondInstance.contains(1L));
+    }
+
+    @Test
+    void evict_InvalidatesAllInstances() {
+        firstInstance.put(getUser(1L, "John"));
+        secondInstance.get(1L, id -> Optional.of(getUser(id, "John")));
+
+        secondInstance.evict(1L);
+
+        assertFalse(firstInstance.contains(1L));
+        assertFalse(secondInstance.contains(1L));
+    }
+
+    @Test
+    void put_MoreThanMaximumSize_EvictsEntries() {
+        for (long id = 1; id <= 10; id++) {
+            firstInstance.put(getUser(id, "user" + id));
+        }
+        firstInstance.cleanUp();
+
+        assertTrue(firstInstance.size() <= 2);
+        assertTrue(firstInstance.stats().evictionCount() >= 8);
+    }
+
+    private static User getUser(Long id, String name) {
+        User user = ObjectUtils.getUser(name);
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,177 @@
+package ua.com.restful_for_users.changes;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.com.restful_for_users.dto.BatchItemResult;
+import ua.com.restful_for_users.dto.BatchResult;
+import ua.com.restful_for_users.dto.UserChangeEvent;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.entity.UserChangeType;
+import ua.com.restful_for_users.exception.RequestThrottledException;
+import ua.com.restful_for_users.repository.UserRepository;
+import ua.com.restful_for_users.service.UserBatchService;
+import ua.com.restful_for_users.service.UserService;
+import ua.com.restful_for_users.util.ObjectUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"user.changes.retention=0s", "user.batch.chunk-size=2", "user.changes.max-waiters=2"})
+public class UserChangeRelayTests {
+    @Autowired
+    private UserChangeRelay userChangeRelay;
+
+    @Autowired
+    private UserChangeFeed userChangeFeed;
+
+    @Autowired
+    private UserChangeSink userChangeSink;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserBatchService userBatchService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<UserChangeEvent> received = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userChangeRelay.relay();
+        userChangeSink.subscribe(received::addAll);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM users WHERE deleted_at IS NOT NULL");
+    }
+
+    @Test
+    void relay_PublishesServiceWritesInOrder() {
+        long since = userChangeRelay.getLastPosition();
+        User created = userService.createUser(adult("john"));
+        userService.updateUser(created.getId(), Map.of("lastName", "Koval"));
+        userService.deleteUser(created.getId());
+
+        assertTrue(received.isEmpty());
+        assertEquals(3, userChangeRelay.relay());
+
+        assertEquals(List.of(UserChangeType.CREATED, UserChangeType.UPDATED, UserChangeType.DELETED),
+                received.stream().map(UserChangeEvent::type).toList());
+        assertEquals(List.of(since + 1, since + 2, since + 3), received.stream().map(UserChangeEvent::position).toList());
+        assertTrue(received.get(1).user().contains("\"lastName\":\"Koval\""));
+        assertNull(received.get(2).user());
+        assertEquals(received, userChangeFeed.read(since, 10));
+        assertEquals(0, userChangeRelay.relay());
+    }
+
+    @Test
+    void batchWrites_RecordOnlyCommittedItems() {
+        BatchResult result = userBatchService.createUsers(List.of(adult("first"), adult("second"), adult("second")));
+        userChangeRelay.relay();
+
+        assertEquals(2, result.succeeded());
+        assertEquals(2, received.size());
+        assertEquals(result.items().stream().filter(BatchItemResult::success).map(BatchItemResult::id).toList(),
+                received.stream().map(UserChangeEvent::userId).toList());
+    }
+
+    @Test
+    void await_CompletesWhenChangesArePublished() throws Exception {
+        long since = userChangeRelay.getLastPosition();
+        CompletableFuture<List<UserChangeEvent>> changes = userChangeFeed.await(since, 10, Duration.ofSeconds(5));
+
+        assertFalse(changes.isDone());
+        assertEquals(1, userChangeFeed.waiting());
+        User created = userService.createUser(adult("john"));
+        userChangeRelay.relay();
+
+        List<UserChangeEvent> events = changes.get(2, TimeUnit.SECONDS);
+        assertEquals(1, events.size());
+        assertEquals(created.getId(), events.get(0).userId());
+        assertEquals(0, userChangeFeed.waiting());
+    }
+
+    @Test
+    void await_SeveralWaiters_FansOutOnePublicationBySince() throws Exception {
+        long since = userChangeRelay.getLastPosition();
+        User first = userService.createUser(adult("first"));
+        userChangeRelay.relay();
+        CompletableFuture<List<UserChangeEvent>> fromStart = userChangeFeed.await(since, 10, Duration.ofSeconds(5));
+        CompletableFuture<List<UserChangeEvent>> fromLatest = userChangeFeed.await(since + 1, 10, Duration.ofSeconds(5));
+
+        assertTrue(fromStart.isDone());
+        assertEquals(1, userChangeFeed.waiting());
+        User second = userService.createUser(adult("second"));
+        userChangeRelay.relay();
+
+        assertEquals(List.of(first.getId()), fromStart.get(2, TimeUnit.SECONDS).stream().map(UserChangeEvent::userId).toList());
+        assertEquals(List.of(second.getId()), fromLatest.get(2, TimeUnit.SECONDS).stream().map(UserChangeEvent::userId).toList());
+        assertEquals(0, userChangeFeed.waiting());
+    }
+
+    @Test
+    void await_TooManyWaiters_ThrowsServiceUnavailable() throws Exception {
+        long since = userChangeRelay.getLastPosition();
+        CompletableFuture<List<UserChangeEvent>> first = userChangeFeed.await(since, 10, Duration.ofMillis(300));
+        CompletableFuture<List<UserChangeEvent>> second = userChangeFeed.await(since, 10, Duration.ofMillis(300));
+
+        RequestThrottledException exception = assertThrows(RequestThrottledException.class,
+                () -> userChangeFeed.await(since, 10, Duration.ofSeconds(1)));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+        assertTrue(first.get(2, TimeUnit.SECONDS).isEmpty());
+        assertTrue(second.get(2, TimeUnit.SECONDS).isEmpty());
+        assertEquals(0, userChangeFeed.waiting());
+    }
+
+    @Test
+    void await_NoChanges_ReturnsEmptyPageAfterWait() throws Exception {
+        long since = userChangeRelay.getLastPosition();
+
+        List<UserChangeEvent> events = userChangeFeed.await(since, 10, Duration.ofMillis(100)).get(2, TimeUnit.SECONDS);
+
+        assertTrue(events.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> userChangeFeed.await(since, 10, Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class, () -> userChangeFeed.read(-1, 10));
+    }
+
+    @Test
+    void cleanUp_KeepsLatestPositionSoFeedNeverRewinds() {
+        userService.createUser(adult("first"));
+        userService.createUser(adult("second"));
+        userChangeRelay.relay();
+        long latest = userChangeRelay.getLastPosition();
+
+        userChangeRelay.cleanUp();
+        userService.createUser(adult("third"));
+        userChangeRelay.relay();
+
+        assertEquals(List.of(latest, latest + 1), userChangeFeed.read(0, 10).stream().map(UserChangeEvent::position).toList());
+    }
+
+    private static User adult(String name) {
+        User user = ObjectUtils.getUser(name);
+        user.setBirthDate(LocalDate.of(1990, 1, 1));
+        return user;
+    }
+}
@@ -0,0 +1,132 @@
+package ua.com.restful_for_users.coalescing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import ua.com.restful_for_users.datasource.ReplicaRouting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class ReadCoalescerTests {
+    private static final int CALLERS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        ReplicaRouting.clear();
+    }
+
+    @Test
+    void read_ConcurrentIdenticalKeys_ShareOneLoadAndCopyForFollowers() throws Exception {
+        ReadCoalescer coalescer = coalescer(16);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        StringBuilder shared = new StringBuilder("users");
+
+        List<Future<StringBuilder>> results = submitAll(() -> coalescer.read("range", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return shared;
+        }, StringBuilder::new));
+        waitFor(() -> coalescer.leaders() + coalescer.coalesced() == CALLERS);
+        release.countDown();
+
+        int copies = 0;
+        for (Future<StringBuilder> result : results) {
+            StringBuilder value = result.get(5, TimeUnit.SECONDS);
+            assertEquals("users", value.toString());
+            copies += value == shared ? 0 : 1;
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, coalescer.leaders());
+        assertEquals(CALLERS - 1, coalescer.coalesced());
+        assertEquals(CALLERS - 1, copies);
+        assertEquals(0, coalescer.inFlight());
+    }
+
+    @Test
+    void read_LeaderFails_FollowersGetTheSameFailure() throws Exception {
+        ReadCoalescer coalescer = coalescer(16);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitAll(() -> coalescer.read("count", () -> {
+            await(release);
+            throw new IllegalStateException("database unavailable");
+        }, value -> value));
+        waitFor(() -> coalescer.leaders() + coalescer.coalesced() == CALLERS);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+        assertEquals(0, coalescer.inFlight());
+        assertEquals("loaded", coalescer.read("count", () -> "loaded", value -> value));
+    }
+
+    @Test
+    void read_InFlightLimitReached_BypassesCoalescing() throws Exception {
+        ReadCoalescer coalescer = coalescer(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> blocked = executor.submit(() -> coalescer.read("first", () -> {
+            await(release);
+            return "first";
+        }, value -> value));
+        waitFor(() -> coalescer.inFlight() == 1);
+
+        assertEquals("second", coalescer.read("second", () -> "second", value -> value));
+        release.countDown();
+
+        assertEquals("first", blocked.get(5, TimeUnit.SECONDS));
+        assertEquals(1, coalescer.bypassed());
+        assertEquals(1, coalescer.leaders());
+    }
+
+    @Test
+    void read_PrimaryForced_BypassesCoalescing() {
+        ReadCoalescer coalescer = coalescer(16);
+        ReplicaRouting.forcePrimary();
+
+        assertEquals("fresh", coalescer.read("range", () -> "fresh", value -> value));
+        assertEquals(1, coalescer.bypassed());
+        assertEquals(0, coalescer.leaders());
+    }
+
+    private static ReadCoalescer coalescer(int maxInFlight) {
+        return new ReadCoalescer(mock(PlatformTransactionManager.class), true, 4, maxInFlight);
+    }
+
+    private <T> List<Future<T>> submitAll(Callable<T> call) {
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(call));
+        }
+        return futures;
+    }
+
+    private static void waitFor(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.get()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
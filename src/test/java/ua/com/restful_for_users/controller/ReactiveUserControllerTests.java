@@ -0,0 +1,238 @@
+package ua.com.restful_for_users.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.entity.UserChange;
+import ua.com.restful_for_users.entity.UserChangeType;
+import ua.com.restful_for_users.repository.UserChangeRepository;
+import ua.com.restful_for_users.repository.UserRepository;
+import ua.com.restful_for_users.search.UserSearchIndex;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+public class ReactiveUserControllerTests {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserChangeRepository userChangeRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM users WHERE deleted_at IS NOT NULL");
+        userSearchIndex.reload();
+    }
+
+    @Test
+    void createUser_ThenGetUser_ReturnsUserWithETag() {
+        User created = create("John", "Smith", "john@gmail.com", LocalDate.of(1990, 1, 1));
+
+        webTestClient.get().uri("/api/users/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("John")
+                .jsonPath("$.email").isEqualTo("john@gmail.com");
+        webTestClient.get().uri("/api/users/{id}", created.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void createUser_InvalidEmail_ReturnsBadRequest() {
+        webTestClient.post().uri("/api/users")
+                .bodyValue(Map.of("email", "not-an-email", "firstName", "John", "lastName", "Smith", "birthDate", "1990-01-01"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0]").isEqualTo("Invalid email format");
+    }
+
+    @Test
+    void createUser_DuplicateEmail_ReturnsBadRequest() {
+        create("John", "Smith", "john@gmail.com", LocalDate.of(1990, 1, 1));
+
+        webTestClient.post().uri("/api/users")
+                .bodyValue(Map.of("email", "john@gmail.com", "firstName", "Jane", "lastName", "Smith", "birthDate", "1991-01-01"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Email is already in use.");
+        webTestClient.head().uri("/api/users/email/john@gmail.com").exchange().expectStatus().isOk();
+        webTestClient.head().uri("/api/users/email/jane@gmail.com").exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void getUsers_PagesWithCursor() {
+        create("Anna", "Smith", "anna@gmail.com", LocalDate.of(1990, 1, 1));
+        create("Boris", "Smith", "boris@gmail.com", LocalDate.of(1991, 1, 1));
+        create("Clara", "Smith", "clara@gmail.com", LocalDate.of(1992, 1, 1));
+
+        EntityExchangeResult<List<User>> first = webTestClient.get().uri("/api/users?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(User.class).returnResult();
+        String cursor = first.getResponseHeaders().getFirst(UserController.NEXT_CURSOR_HEADER);
+        List<User> second = webTestClient.get().uri("/api/users?limit=2&after={after}", cursor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(UserController.NEXT_CURSOR_HEADER)
+                .expectBodyList(User.class).returnResult().getResponseBody();
+
+        assertEquals(List.of("Anna", "Boris"), names(first.getResponseBody()));
+        assertEquals(List.of("Clara"), names(second));
+    }
+
+    @Test
+    void streamUsers_StreamsNdjsonWithBackPressure() {
+        for (int i = 0; i < 5; i++) {
+            create("User" + i, "Smith", "user" + i + "@gmail.com", LocalDate.of(1990, 1, 1 + i));
+        }
+
+        Flux<User> users = webTestClient.get().uri("/api/users")
+                .accept(MediaType.parseMediaType(UserController.APPLICATION_NDJSON_VALUE))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(User.class)
+                .getResponseBody();
+
+        StepVerifier.create(users, 2)
+                .expectNextMatches(user -> user.getFirstName().equals("User0"))
+                .expectNextMatches(user -> user.getFirstName().equals("User1"))
+                .thenRequest(3)
+                .expectNextCount(3)
+                .verifyComplete();
+    }
+
+    @Test
+    void searchUsersByBirthDateRange_ReturnsPageCountAndStream() {
+        create("Anna", "Smith", "anna@gmail.com", LocalDate.of(1980, 5, 1));
+        create("Boris", "Smith", "boris@gmail.com", LocalDate.of(1990, 5, 1));
+        create("Clara", "Smith", "clara@gmail.com", LocalDate.of(1995, 5, 1));
+
+        List<User> page = webTestClient.get().uri("/api/users/search?from=1985-01-01&to=2000-01-01")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(User.class).returnResult().getResponseBody();
+        webTestClient.get().uri("/api/users/search?from=1985-01-01&to=2000-01-01&count=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.count").isEqualTo(2);
+        List<User> streamed = webTestClient.get().uri("/api/users/search?from=1970-01-01&to=1991-01-01")
+                .accept(MediaType.parseMediaType(UserController.APPLICATION_NDJSON_VALUE))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(User.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(List.of("Boris", "Clara"), names(page));
+        assertEquals(List.of("Anna", "Boris"), names(streamed));
+    }
+
+    @Test
+    void searchUsersByText_ReturnsRankedUsers() {
+        create("John", "Smith", "john@gmail.com", LocalDate.of(1990, 1, 1));
+        create("Petro", "Johnson", "petro@gmail.com", LocalDate.of(1990, 1, 1));
+        create("Ivan", "Koval", "ivan@gmail.com", LocalDate.of(1990, 1, 1));
+
+        List<User> users = webTestClient.get().uri("/api/users/search/text?q=joh")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(User.class).returnResult().getResponseBody();
+
+        assertEquals(List.of("John", "Petro"), names(users));
+    }
+
+    @Test
+    void updateUser_StaleIfMatch_ReturnsPreconditionFailed() {
+        User created = create("John", "Smith", "john@gmail.com", LocalDate.of(1990, 1, 1));
+
+        webTestClient.put().uri("/api/users/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(Map.of("lastName", "Koval"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("$.lastName").isEqualTo("Koval");
+        webTestClient.put().uri("/api/users/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(Map.of("lastName", "Bondar"))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient.put().uri("/api/users/updateAll/{id}", created.getId())
+                .bodyValue(Map.of("email", "john.koval@gmail.com", "firstName", "John", "lastName", "Koval", "birthDate", "1990-01-01"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("john.koval@gmail.com")
+                .jsonPath("$.address").doesNotExist();
+    }
+
+    @Test
+    void deleteUser_ThenGetUser_ReturnsNotFound() {
+        User created = create("John", "Smith", "john@gmail.com", LocalDate.of(1990, 1, 1));
+
+        webTestClient.delete().uri("/api/users/{id}", created.getId()).exchange().expectStatus().isNoContent();
+        webTestClient.delete().uri("/api/users/{id}", created.getId()).exchange().expectStatus().isNotFound();
+        webTestClient.get().uri("/api/users/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("User not found with id: " + created.getId());
+        assertTrue(userRepository.findById(created.getId()).isEmpty());
+        assertEquals(List.of(UserChangeType.CREATED, UserChangeType.DELETED), userChangeRepository.findAll().stream()
+                .filter(change -> change.getUserId().equals(created.getId()))
+                .sorted(Comparator.comparing(UserChange::getId))
+                .map(UserChange::getType)
+                .toList());
+    }
+
+    private User create(String firstName, String lastName, String email, LocalDate birthDate) {
+        User user = webTestClient.post().uri("/api/users")
+                .bodyValue(Map.of("email", email, "firstName", firstName, "lastName", lastName, "birthDate", birthDate.toString()))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(User.class).returnResult().getResponseBody();
+        assertNotNull(user);
+        return user;
+    }
+
+    private static List<String> names(List<User> users) {
+        return users.stream().map(User::getFirstName).toList();
+    }
+}
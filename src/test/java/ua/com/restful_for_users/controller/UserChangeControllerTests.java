@@ -0,0 +1,75 @@
+package ua.com.restful_for_users.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ua.com.restful_for_users.changes.UserChangeFeed;
+import ua.com.restful_for_users.dto.UserChangeEvent;
+import ua.com.restful_for_users.entity.UserChangeType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UserChangeController.class)
+@AutoConfigureObservability
+class UserChangeControllerTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserChangeFeed userChangeFeed;
+
+    @Test
+    void getChanges_ReturnsEventsWithNextCursor() throws Exception {
+        Instant createdAt = Instant.parse("2024-01-01T00:00:00Z");
+        when(userChangeFeed.await(10, 2, Duration.ofSeconds(5))).thenReturn(CompletableFuture.completedFuture(List.of(
+                new UserChangeEvent(11, 1L, UserChangeType.UPDATED, "{\"id\":1,\"firstName\":\"John\"}", createdAt),
+                new UserChangeEvent(12, 2L, UserChangeType.DELETED, null, createdAt))));
+
+        MvcResult result = mockMvc.perform(get("/api/users/changes").param("since", "10").param("limit", "2").param("wait", "5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(UserController.NEXT_CURSOR_HEADER, "12"))
+                .andExpect(jsonPath("$[0].position").value(11))
+                .andExpect(jsonPath("$[0].type").value("UPDATED"))
+                .andExpect(jsonPath("$[0].user.firstName").value("John"))
+                .andExpect(jsonPath("$[1].type").value("DELETED"));
+    }
+
+    @Test
+    void getChanges_NoChanges_KeepsCursor() throws Exception {
+        when(userChangeFeed.await(7, 100, Duration.ZERO)).thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        MvcResult result = mockMvc.perform(get("/api/users/changes").param("since", "7"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(UserController.NEXT_CURSOR_HEADER, "7"))
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void getChanges_InvalidWait_ReturnsBadRequest() throws Exception {
+        when(userChangeFeed.await(0, 100, Duration.ofSeconds(600)))
+                .thenThrow(new IllegalArgumentException("Wait must be between 0 and 30 seconds."));
+
+        mockMvc.perform(get("/api/users/changes").param("wait", "600"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -7,25 +7,46 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ua.com.restful_for_users.dto.BatchItemResult;
+import ua.com.restful_for_users.dto.BatchResult;
+import ua.com.restful_for_users.dto.UserPage;
+import ua.com.restful_for_users.dto.UserVersion;
+import ua.com.restful_for_users.dto.UserVersionPage;
 import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.exception.RequestThrottledException;
+import ua.com.restful_for_users.exception.UserNotFoundException;
+import ua.com.restful_for_users.service.UserBatchService;
 import ua.com.restful_for_users.service.UserService;
 import ua.com.restful_for_users.util.ObjectUtils;
+import ua.com.restful_for_users.validation.UserAgePolicy;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
+@AutoConfigureObservability
+@Import(UserAgePolicy.class)
 @ExtendWith(MockitoExtension.class)
 class UserControllerTests {
 
@@ -38,6 +59,9 @@ class UserControllerTests {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UserBatchService userBatchService;
+
     @Value("${user.age.min}")
     private Long minUserAge;
 
@@ -54,14 +78,154 @@ class UserControllerTests {
         users.add(ObjectUtils.getUser("user1"));
         users.add(ObjectUtils.getUser("user2"));
 
-        when(userService.getAllUsers()).thenReturn(users);
+        when(userService.getUsersPage(null, 100)).thenReturn(new UserPage(users, null));
 
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().doesNotExist(UserController.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(users.size()));
-        verify(userService, times(1)).getAllUsers();
+        verify(userService, times(1)).getUsersPage(null, 100);
+    }
+
+    @Test
+    void getUsers_WithCursorAndLimit_ReturnsNextCursorHeader() throws Exception {
+        List<User> users = new ArrayList<>();
+        users.add(ObjectUtils.getUser("user3"));
+
+        when(userService.getUsersPage("cursor", 1)).thenReturn(new UserPage(users, "next"));
+
+        mockMvc.perform(get("/api/users")
+                        .param("after", "cursor")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(UserController.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].firstName").value("user3"));
+    }
+
+    @Test
+    void streamUsers_NdjsonAccepted_WritesOneUserPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<User> consumer = invocation.getArgument(0);
+            consumer.accept(ObjectUtils.getUser("user1"));
+            consumer.accept(ObjectUtils.getUser("user2"));
+            return null;
+        }).when(userService).streamAllUsers(any());
+
+        MvcResult result = mockMvc.perform(get("/api/users")
+                        .accept(UserController.APPLICATION_NDJSON_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(UserController.APPLICATION_NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("user1", objectMapper.readValue(lines[0], User.class).getFirstName());
+        assertEquals("user2", objectMapper.readValue(lines[1], User.class).getFirstName());
+    }
+
+    @Test
+    void getUser_ExistingUser_ReturnsUser() throws Exception {
+        User user = ObjectUtils.getUser("user1");
+        user.setId(1L);
+
+        when(userService.getUserById(1L)).thenReturn(user);
+
+        mockMvc.perform(get("/api/users/{userId}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.firstName").value("user1"));
+    }
+
+    @Test
+    void getUser_ReturnsETagAndLastModified() throws Exception {
+        User user = ObjectUtils.getUser("user1");
+        user.setId(1L);
+        user.setVersion(3L);
+        user.setUpdatedAt(Instant.parse("2024-05-01T10:15:30Z"));
+
+        when(userService.getUserById(1L)).thenReturn(user);
+
+        mockMvc.perform(get("/api/users/{userId}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Wed, 01 May 2024 10:15:30 GMT"));
+    }
+
+    @Test
+    void getUser_MatchingIfNoneMatch_ReturnsNotModifiedWithoutLoadingUser() throws Exception {
+        when(userService.getUserVersion(1L)).thenReturn(new UserVersion(1L, 3L, Instant.parse("2024-05-01T10:15:30Z")));
+
+        mockMvc.perform(get("/api/users/{userId}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(userService, never()).getUserById(any());
+    }
+
+    @Test
+    void getUser_StaleIfNoneMatch_ReturnsUser() throws Exception {
+        User user = ObjectUtils.getUser("user1");
+        user.setId(1L);
+        user.setVersion(4L);
+        user.setUpdatedAt(Instant.parse("2024-05-02T10:15:30Z"));
+
+        when(userService.getUserVersion(1L)).thenReturn(UserVersion.of(user));
+        when(userService.getUserById(1L)).thenReturn(user);
+
+        MvcResult result = mockMvc.perform(get("/api/users/{userId}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(4))
+                .andReturn();
+
+        assertEquals(List.of("\"4\""), result.getResponse().getHeaders(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void getUsers_MatchingIfNoneMatch_ReturnsNotModifiedWithoutLoadingPage() throws Exception {
+        User user = ObjectUtils.getUser("user1");
+        user.setId(1L);
+        user.setVersion(0L);
+        user.setUpdatedAt(Instant.parse("2024-05-01T10:15:30Z"));
+        when(userService.getUsersPage(null, 100)).thenReturn(new UserPage(List.of(user), null));
+        when(userService.getUsersPageVersions(null, 100)).thenReturn(new UserVersionPage(List.of(UserVersion.of(user)), null));
+
+        String eTag = mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        verify(userService, times(1)).getUsersPage(null, 100);
+    }
+
+    @Test
+    void updateUser_StaleIfMatch_ReturnsPreconditionFailed() throws Exception {
+        Map<String, Object> updates = Map.of("firstName", "UpdatedFirstName");
+        when(userService.updateUser(1L, updates, 2L)).thenThrow(new OptimisticLockingFailureException("stale"));
+
+        mockMvc.perform(put("/api/users/{userId}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updates)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void checkEmail_ReturnsOkWhenTakenAndNotFoundWhenAvailable() throws Exception {
+        when(userService.emailExists("john.doe@gmail.com")).thenReturn(true);
+
+        mockMvc.perform(head("/api/users/email/{email}", "john.doe@gmail.com"))
+                .andExpect(status().isOk());
+        mockMvc.perform(head("/api/users/email/{email}", "jane.doe@gmail.com"))
+                .andExpect(status().isNotFound());
     }
 
     @Test
@@ -84,6 +248,41 @@ class UserControllerTests {
         verify(userService, times(1)).createUser(any());
     }
 
+    @Test
+    void createUsers_Batch_ReturnsPerItemResults() throws Exception {
+        List<User> users = List.of(ObjectUtils.getUser("user1"), ObjectUtils.getUser("user2"));
+        BatchResult result = BatchResult.of(new BatchItemResult[]{
+                BatchItemResult.succeeded(0, 1L),
+                BatchItemResult.failed(1, null, "Birth date is required.")
+        });
+
+        when(userBatchService.createUsers(anyList())).thenReturn(result);
+
+        mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(users)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[1].error").value("Birth date is required."));
+    }
+
+    @Test
+    void deleteUsers_Batch_ReturnsPerItemResults() throws Exception {
+        BatchResult result = BatchResult.of(new BatchItemResult[]{BatchItemResult.succeeded(0, 1L)});
+
+        when(userBatchService.deleteUsers(List.of(1L))).thenReturn(result);
+
+        mockMvc.perform(delete("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1));
+
+        verify(userService, never()).deleteUser(any());
+    }
+
     @Test
     void updateUser_ValidUpdates_ReturnsUpdatedUser() throws Exception {
         Long userId = 1L;
@@ -92,7 +291,7 @@ class UserControllerTests {
 
         User updatedUser = ObjectUtils.getUser("UpdatedFirstName");
         updatedUser.setId(userId);
-        when(userService.updateUser(userId, updates)).thenReturn(updatedUser);
+        when(userService.updateUser(userId, updates, null)).thenReturn(updatedUser);
 
         mockMvc.perform(put("/api/users/{userId}", userId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -101,7 +300,7 @@ class UserControllerTests {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.firstName").value("UpdatedFirstName"));
 
-        verify(userService, times(1)).updateUser(userId, updates);
+        verify(userService, times(1)).updateUser(userId, updates, null);
     }
 
     @Test
@@ -109,8 +308,9 @@ class UserControllerTests {
         Long userId = 1L;
         User updatedUser =ObjectUtils.getUser("updatedName");
         updatedUser.setId(userId);
+        updatedUser.setBirthDate(validBirthDate);
 
-        when(userService.updateAllUserFields(eq(userId), any(User.class))).thenReturn(updatedUser);
+        when(userService.updateAllUserFields(eq(userId), any(User.class), isNull())).thenReturn(updatedUser);
 
         mockMvc.perform(put("/api/users/updateAll/{userId}", userId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -120,6 +320,20 @@ class UserControllerTests {
                 .andExpect(jsonPath("$.firstName").value("updatedName"));
     }
 
+    @Test
+    void updateAllUserFields_UnderageUser_ReturnsBadRequest() throws Exception {
+        User user = ObjectUtils.getUser("young");
+        user.setBirthDate(validBirthDate.plusDays(1));
+
+        mockMvc.perform(put("/api/users/updateAll/{userId}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("User must be at least " + minUserAge + " years old."));
+
+        verify(userService, never()).updateAllUserFields(any(), any(), any());
+    }
+
     @Test
     void deleteUser_ValidUserId_ReturnsNoContent() throws Exception {
         Long userId = 1L;
@@ -130,6 +344,16 @@ class UserControllerTests {
         verify(userService, times(1)).deleteUser(userId);
     }
 
+    @Test
+    void deleteUser_UnknownUserId_ReturnsNotFound() throws Exception {
+        Long userId = 1L;
+        doThrow(new UserNotFoundException(userId)).when(userService).deleteUser(userId);
+
+        mockMvc.perform(delete("/api/users/{userId}", userId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("User not found with id: " + userId));
+    }
+
     @Test
     void searchUsersByBirthDateRange_ValidDateRange_ReturnsListOfUsers() throws Exception {
         String from = "2000-01-01";
@@ -144,7 +368,8 @@ class UserControllerTests {
         users.add(user1);
         users.add(user2);
 
-        when(userService.searchUsersByBirthDateRange(LocalDate.parse(from), LocalDate.parse(to))).thenReturn(users);
+        when(userService.searchUsersPage(LocalDate.parse(from), LocalDate.parse(to), null, 100))
+                .thenReturn(new UserPage(users, null));
 
         mockMvc.perform(get("/api/users/search")
                         .param("from", from)
@@ -154,6 +379,55 @@ class UserControllerTests {
                 .andExpect(jsonPath("$[0].firstName").value("name1"))
                 .andExpect(jsonPath("$[1].firstName").value("name2"));
 
-        verify(userService, times(1)).searchUsersByBirthDateRange(LocalDate.parse(from), LocalDate.parse(to));
+        verify(userService, times(1)).searchUsersPage(LocalDate.parse(from), LocalDate.parse(to), null, 100);
+    }
+
+    @Test
+    void searchUsersByBirthDateRange_CountOnly_ReturnsCount() throws Exception {
+        when(userService.countUsersByBirthDateRange(LocalDate.parse("2000-01-01"), LocalDate.parse("2022-12-31")))
+                .thenReturn(42L);
+
+        mockMvc.perform(get("/api/users/search")
+                        .param("from", "2000-01-01")
+                        .param("to", "2022-12-31")
+                        .param("count", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(42));
+
+        verify(userService, never()).searchUsersPage(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void searchUsersByText_ReturnsRankedPageWithNextCursor() throws Exception {
+        List<User> users = List.of(ObjectUtils.getUser("John"), ObjectUtils.getUser("Johanna"));
+
+        when(userService.searchUsersByText("joh", null, 20)).thenReturn(new UserPage(users, "next"));
+
+        mockMvc.perform(get("/api/users/search/text").param("q", "joh"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(UserController.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].firstName").value("John"))
+                .andExpect(jsonPath("$[1].firstName").value("Johanna"));
+    }
+
+    @Test
+    void searchUsersByText_BlankQuery_ReturnsBadRequest() throws Exception {
+        when(userService.searchUsersByText(" ", null, 20))
+                .thenThrow(new IllegalArgumentException("Search query must contain letters or digits."));
+
+        mockMvc.perform(get("/api/users/search/text").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Search query must contain letters or digits."));
+    }
+
+    @Test
+    void searchUsersByText_IndexNotReady_ReturnsServiceUnavailable() throws Exception {
+        when(userService.searchUsersByText("joh", null, 20))
+                .thenThrow(new RequestThrottledException(HttpStatus.SERVICE_UNAVAILABLE, "Text search index is not ready.", Duration.ofSeconds(5)));
+
+        mockMvc.perform(get("/api/users/search/text").param("q", "joh"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+                .andExpect(jsonPath("$.error").value("Text search index is not ready."));
     }
 }
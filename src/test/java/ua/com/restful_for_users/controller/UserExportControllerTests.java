@@ -0,0 +1,76 @@
+package ua.com.restful_for_users.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ua.com.restful_for_users.exception.ExportNotReadyException;
+import ua.com.restful_for_users.export.ExportFormat;
+import ua.com.restful_for_users.export.ExportJob;
+import ua.com.restful_for_users.export.ExportStatus;
+import ua.com.restful_for_users.export.UserExportService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UserExportController.class)
+@AutoConfigureObservability
+class UserExportControllerTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserExportService userExportService;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void startExport_ReturnsAcceptedWithLocation() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(userExportService.startExport(ExportFormat.NDJSON)).thenReturn(new ExportJob(id, ExportFormat.NDJSON, tempDir.resolve("x")));
+
+        mockMvc.perform(post("/api/users/exports").param("format", "ndjson"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/users/exports/" + id))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.format").value("NDJSON"));
+    }
+
+    @Test
+    void startExport_UnknownFormat_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/users/exports").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void downloadExport_CompletedExport_StreamsFile() throws Exception {
+        UUID id = UUID.randomUUID();
+        Path file = Files.write(tempDir.resolve("export.csv.gz"), new byte[]{1, 2, 3});
+        when(userExportService.getCompletedExport(id)).thenReturn(new ExportJob(id, ExportFormat.CSV, file));
+
+        mockMvc.perform(get("/api/users/exports/{exportId}/file", id))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"users-" + id + ".csv.gz\""))
+                .andExpect(content().bytes(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    void downloadExport_RunningExport_ReturnsConflict() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(userExportService.getCompletedExport(id)).thenThrow(new ExportNotReadyException(id, ExportStatus.RUNNING));
+
+        mockMvc.perform(get("/api/users/exports/{exportId}/file", id))
+                .andExpect(status().isConflict());
+    }
+}
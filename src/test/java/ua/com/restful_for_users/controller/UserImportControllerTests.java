@@ -0,0 +1,70 @@
+package ua.com.restful_for_users.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import ua.com.restful_for_users.dto.ImportRejection;
+import ua.com.restful_for_users.dto.ImportReport;
+import ua.com.restful_for_users.imports.ImportFormat;
+import ua.com.restful_for_users.imports.UserImportService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(UserImportController.class)
+@AutoConfigureObservability
+class UserImportControllerTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserImportService userImportService;
+
+    @Test
+    void importUsers_GzipBody_ReturnsReport() throws Exception {
+        String body = "{\"email\":\"john@gmail.com\",\"firstName\":\"John\",\"lastName\":\"Doe\"}\n";
+        when(userImportService.importUsers(any(InputStream.class), eq(ImportFormat.NDJSON))).thenAnswer(invocation -> {
+            String text = new String(invocation.getArgument(0, InputStream.class).readAllBytes(), StandardCharsets.UTF_8);
+            return body.equals(text)
+                    ? new ImportReport(1, 1, 0, List.of())
+                    : new ImportReport(1, 0, 1, List.of(new ImportRejection(1, "Unreadable")));
+        });
+
+        mockMvc.perform(post("/api/users/import")
+                        .param("format", "ndjson")
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(gzip(body)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(1))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejections").isEmpty());
+    }
+
+    @Test
+    void importUsers_UnknownFormat_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/users/import").param("format", "xml").content("x"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static byte[] gzip(String text) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+}
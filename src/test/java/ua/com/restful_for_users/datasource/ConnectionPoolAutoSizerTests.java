@@ -0,0 +1,140 @@
+package ua.com.restful_for_users.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionPoolAutoSizerTests {
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private HikariDataSource dataSource;
+    private ConnectionPoolAutoSizer autoSizer;
+
+    @AfterEach
+    void tearDown() {
+        if (autoSizer != null) {
+            autoSizer.shutdown();
+        }
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @Test
+    void adjust_ConnectionWaitsAboveTarget_GrowsPoolThenShrinksWhenIdle() throws Exception {
+        dataSource = dataSource(2);
+        autoSizer = autoSizer(false, 1, 8);
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> {
+            try (Connection ignored = dataSource.getConnection()) {
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        TimeUnit.MILLISECONDS.sleep(200);
+        first.close();
+        waiter.get(5, TimeUnit.SECONDS);
+        second.close();
+
+        autoSizer.adjust();
+        assertEquals(3, dataSource.getMaximumPoolSize());
+        assertEquals(3, registry.get("users.datasource.pool.target.size").tag("pool", "test").gauge().value());
+
+        autoSizer.adjust();
+        assertEquals(2, dataSource.getMaximumPoolSize());
+        autoSizer.adjust();
+        autoSizer.adjust();
+        assertEquals(1, dataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    void resize_ShrinkThenGrow_RestoresConfiguredMinimumIdle() throws Exception {
+        dataSource = dataSource(4, 4);
+        autoSizer = autoSizer(false, 1, 8);
+
+        autoSizer.adjust();
+        assertEquals(3, dataSource.getMaximumPoolSize());
+        assertEquals(3, dataSource.getMinimumIdle());
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        Connection third = dataSource.getConnection();
+        CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> {
+            try (Connection ignored = dataSource.getConnection()) {
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        TimeUnit.MILLISECONDS.sleep(200);
+        first.close();
+        waiter.get(5, TimeUnit.SECONDS);
+        second.close();
+        third.close();
+
+        autoSizer.adjust();
+        assertEquals(4, dataSource.getMaximumPoolSize());
+        assertEquals(4, dataSource.getMinimumIdle());
+    }
+
+    @Test
+    void adjust_NoWaits_KeepsPoolAtMinimum() {
+        dataSource = dataSource(2);
+        autoSizer = autoSizer(false, 2, 8);
+
+        autoSizer.adjust();
+
+        assertEquals(2, dataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    void start_Enabled_SizesPoolFromCpuCountWithinBounds() {
+        dataSource = dataSource(10);
+        autoSizer = autoSizer(true, 3, 3);
+
+        autoSizer.start();
+
+        assertEquals(3, autoSizer.initialSize());
+        assertEquals(3, dataSource.getMaximumPoolSize());
+        assertTrue(dataSource.getMinimumIdle() <= 3);
+    }
+
+    @Test
+    void constructor_InvalidBounds_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> autoSizer(true, 5, 4));
+        assertThrows(IllegalArgumentException.class, () -> autoSizer(true, 0, 4));
+    }
+
+    private HikariDataSource dataSource(int maximumPoolSize) {
+        return dataSource(maximumPoolSize, 1);
+    }
+
+    private HikariDataSource dataSource(int maximumPoolSize, int minimumIdle) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:pool-auto-sizer");
+        config.setUsername("sa");
+        config.setPoolName("test");
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(minimumIdle);
+        config.setMetricRegistry(registry);
+        return new HikariDataSource(config);
+    }
+
+    private ConnectionPoolAutoSizer autoSizer(boolean enabled, int min, int max) {
+        ConnectionPoolAutoSizer sizer = new ConnectionPoolAutoSizer(dataSource == null ? List.of() : List.of(dataSource),
+                enabled, min, max, Duration.ofMillis(5), Duration.ofHours(1));
+        sizer.bindTo(registry);
+        return sizer;
+    }
+}
@@ -0,0 +1,149 @@
+package ua.com.restful_for_users.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.restful_for_users.changes.UserChangeSink;
+import ua.com.restful_for_users.email.EmailRegistry;
+import ua.com.restful_for_users.repository.UserRepository;
+import ua.com.restful_for_users.search.UserSearchIndex;
+import ua.com.restful_for_users.snapshot.UserSnapshot;
+
+import jakarta.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReadReplicaRoutingDataSourceTests {
+    private DataSource dataSource;
+    private DataSourceTransactionManager transactionManager;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica1 = database("replica1");
+        DataSource replica2 = database("replica2");
+        new JdbcTemplate(primary).update("INSERT INTO users (id, email, first_name, last_name, birth_date) " +
+                "VALUES (1, 'john@gmail.com', 'John', 'Smith', DATE '1990-05-15')");
+        dataSource = new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primary, List.of(replica1, replica2)));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRouting.clear();
+    }
+
+    @Test
+    void readWriteTransaction_UsesPrimary() {
+        assertEquals("primary", readWrite.execute(status -> currentNode()));
+        assertEquals("primary", currentNode());
+    }
+
+    @Test
+    void readOnlyTransactions_RoundRobinAcrossReplicas() {
+        List<String> nodes = List.of(
+                readOnly.execute(status -> currentNode()),
+                readOnly.execute(status -> currentNode()),
+                readOnly.execute(status -> currentNode()));
+
+        assertEquals(List.of("replica1", "replica2", "replica1"), nodes);
+    }
+
+    @Test
+    void readOnlyTransaction_PrimaryForced_UsesPrimary() {
+        ReplicaRouting.forcePrimary();
+
+        assertEquals("primary", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    void onPrimary_ReadOnlyTransaction_UsesPrimaryAndRestoresRouting() {
+        assertEquals("primary", ReplicaRouting.onPrimary(() -> readOnly.execute(status -> currentNode())));
+        assertFalse(ReplicaRouting.isPrimaryForced());
+        assertEquals("replica1", readOnly.execute(status -> currentNode()));
+
+        ReplicaRouting.forcePrimary();
+        ReplicaRouting.onPrimary(() -> readOnly.execute(status -> currentNode()));
+        assertTrue(ReplicaRouting.isPrimaryForced());
+    }
+
+    @Test
+    void backgroundLoaders_ReadOnlyTransactions_LoadFromPrimary() {
+        UserSnapshot snapshot = new UserSnapshot(dataSource, transactionManager, true, 100,
+                Duration.ofSeconds(30), Duration.ofHours(1));
+        UserSearchIndex searchIndex = new UserSearchIndex(dataSource, transactionManager, true, 100, 100,
+                Duration.ofSeconds(30), Duration.ofHours(1), Duration.ofSeconds(5));
+        EmailRegistry emailRegistry = new EmailRegistry(mock(UserRepository.class), dataSource, transactionManager,
+                mock(UserChangeSink.class), new ObjectMapper(), 1000, 0.01, 100);
+
+        snapshot.reload();
+        searchIndex.reload();
+        emailRegistry.rebuild();
+
+        assertEquals(1, snapshot.size());
+        assertEquals(1, searchIndex.search("john", null, null, 10).size());
+        assertTrue(emailRegistry.mightBeTaken("john@gmail.com"));
+        assertFalse(ReplicaRouting.isPrimaryForced());
+    }
+
+    @Test
+    void stickinessFilter_AfterWrite_SendsReadsToPrimaryWithinWindow() throws Exception {
+        ReplicaStickinessFilter filter = new ReplicaStickinessFilter(Duration.ofSeconds(5));
+        AtomicReference<String> node = new AtomicReference<>();
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/users"), writeResponse, new MockFilterChain());
+        Cookie cookie = writeResponse.getCookie(ReplicaStickinessFilter.PRIMARY_UNTIL_COOKIE);
+        MockHttpServletRequest stickyRead = new MockHttpServletRequest("GET", "/api/users");
+        stickyRead.setCookies(cookie);
+        filter.doFilter(stickyRead, new MockHttpServletResponse(),
+                (request, response) -> node.set(readOnly.execute(status -> currentNode())));
+        String stickyNode = node.get();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users"), new MockHttpServletResponse(),
+                (request, response) -> node.set(readOnly.execute(status -> currentNode())));
+
+        assertNotNull(cookie);
+        assertEquals("primary", stickyNode);
+        assertTrue(node.get().startsWith("replica"));
+        assertFalse(ReplicaRouting.isPrimaryForced());
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS users");
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, email VARCHAR(255), first_name VARCHAR(255), " +
+                "last_name VARCHAR(255), birth_date DATE, address VARCHAR(255), phone_number VARCHAR(255), " +
+                "version BIGINT DEFAULT 0, updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, deleted_at TIMESTAMP)");
+        return dataSource;
+    }
+}
@@ -0,0 +1,38 @@
+package ua.com.restful_for_users.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.service.UserService;
+import ua.com.restful_for_users.util.ObjectUtils;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+        "user.datasource.replica.urls=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1"
+})
+class ReplicaDataSourceConfigTests {
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void replicaUrls_RoutingDataSourceServesReadsAndWrites() {
+        User user = ObjectUtils.getUser("Replica");
+        user.setBirthDate(LocalDate.of(1990, 1, 1));
+
+        userService.createUser(user);
+
+        assertInstanceOf(LazyConnectionDataSourceProxy.class, dataSource);
+        assertInstanceOf(ReadReplicaRoutingDataSource.class, ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource());
+        assertEquals(1, userService.getUsersPage(null, 10).users().size());
+    }
+}
@@ -0,0 +1,37 @@
+package ua.com.restful_for_users.email;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailBloomFilterTests {
+
+    @Test
+    void mightContain_InsertedEmails_AlwaysTrue() {
+        EmailBloomFilter filter = new EmailBloomFilter(1000, 0.01);
+
+        IntStream.range(0, 1000).forEach(i -> filter.put("user" + i + "@gmail.com"));
+
+        assertTrue(IntStream.range(0, 1000).allMatch(i -> filter.mightContain("user" + i + "@gmail.com")));
+    }
+
+    @Test
+    void mightContain_UnknownEmails_StaysNearConfiguredFalsePositiveRate() {
+        EmailBloomFilter filter = new EmailBloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i + "@gmail.com"));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("other" + i + "@gmail.com"))
+                .count();
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertEquals(7, filter.getHashCount());
+    }
+
+    @Test
+    void constructor_InvalidRate_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new EmailBloomFilter(100, 1.0));
+    }
+}
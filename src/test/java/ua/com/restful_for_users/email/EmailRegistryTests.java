@@ -0,0 +1,60 @@
+package ua.com.restful_for_users.email;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.com.restful_for_users.changes.UserChangeSink;
+import ua.com.restful_for_users.dto.UserChangeEvent;
+import ua.com.restful_for_users.entity.UserChangeType;
+import ua.com.restful_for_users.service.UserService;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class EmailRegistryTests {
+    @Autowired
+    private EmailRegistry emailRegistry;
+
+    @Autowired
+    private UserChangeSink userChangeSink;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void isTaken_EmailWrittenByAnotherInstance_LearnedFromChangeSink() {
+        insertRemotely(1_000_001L, "remote@gmail.com");
+        assertFalse(emailRegistry.mightBeTaken("remote@gmail.com"));
+
+        userChangeSink.publish(List.of(new UserChangeEvent(1, 1_000_001L, UserChangeType.CREATED,
+                "{\"id\":1000001,\"email\":\"remote@gmail.com\"}", Instant.now())));
+
+        assertTrue(emailRegistry.isTaken("remote@gmail.com"));
+    }
+
+    @Test
+    void emailExists_EmailUnknownToFilter_UsesExactLookup() {
+        insertRemotely(1_000_002L, "unseen@gmail.com");
+
+        assertTrue(userService.emailExists("unseen@gmail.com"));
+        assertFalse(userService.emailExists("free@gmail.com"));
+    }
+
+    private void insertRemotely(Long id, String email) {
+        jdbcTemplate.update("INSERT INTO users (id, email, first_name, last_name, birth_date, version, updated_at) " +
+                "VALUES (?, ?, 'Remote', 'User', DATE '1990-01-01', 0, CURRENT_TIMESTAMP)", id, email);
+    }
+}
@@ -0,0 +1,89 @@
+package ua.com.restful_for_users.export;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.repository.UserRepository;
+import ua.com.restful_for_users.util.ObjectUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class UserExportServiceTests {
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        User john = ObjectUtils.getUser("John");
+        john.setBirthDate(LocalDate.of(1990, 5, 15));
+        User jane = ObjectUtils.getUser("Jane");
+        jane.setAddress("1 Main Street, \"Kyiv\"");
+        userRepository.saveAll(List.of(john, jane));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void startExport_Csv_WritesCompressedFileWithHeader() throws Exception {
+        ExportJob job = awaitCompletion(userExportService.startExport(ExportFormat.CSV));
+
+        List<String> lines = readLines(job);
+
+        assertEquals(ExportStatus.COMPLETED, job.getStatus());
+        assertEquals(2, job.getRows());
+        assertEquals(3, lines.size());
+        assertEquals("id,email,first_name,last_name,birth_date,address,phone_number", lines.get(0));
+        assertTrue(lines.get(1).endsWith(",John@gmail.com,John,Lastname,1990-05-15,,"));
+        assertTrue(lines.get(2).endsWith(",\"1 Main Street, \"\"Kyiv\"\"\","));
+    }
+
+    @Test
+    void startExport_Ndjson_WritesOneUserPerLine() throws Exception {
+        ExportJob job = awaitCompletion(userExportService.startExport(ExportFormat.NDJSON));
+
+        List<String> lines = readLines(job);
+
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"firstName\":\"John\""));
+        assertTrue(lines.get(1).contains("\"firstName\":\"Jane\""));
+    }
+
+    @Test
+    void getExport_UnknownId_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> userExportService.getExport(UUID.randomUUID()));
+    }
+
+    private ExportJob awaitCompletion(ExportJob job) throws InterruptedException {
+        for (int i = 0; i < 100 && job.getCompletedAt() == null; i++) {
+            Thread.sleep(50);
+        }
+        return userExportService.getCompletedExport(job.getId());
+    }
+
+    private static List<String> readLines(ExportJob job) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(job.getFile())), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+}
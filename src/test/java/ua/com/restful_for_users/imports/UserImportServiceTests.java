@@ -0,0 +1,110 @@
+package ua.com.restful_for_users.imports;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ua.com.restful_for_users.dto.ImportRejection;
+import ua.com.restful_for_users.dto.ImportReport;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.repository.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class UserImportServiceTests {
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void importUsers_Csv_InsertsValidRowsAndReportsRejectedLines() throws Exception {
+        String csv = """
+                id,email,first_name,last_name,birth_date,address,phone_number
+                1,john@gmail.com,John,Doe,1990-05-15,"1 Main Street, \""Kyiv\""",
+                ,jane@gmail.com,Jane,Doe,1992-03-01,,123
+
+                ,kid@gmail.com,Kid,Doe,2020-01-01,,
+                ,bad@gmail.com,Bad,Doe,not-a-date,,
+                ,john@gmail.com,Copy,Doe,1991-01-01,,
+                ,mike@gmail.com,Mike,Doe,1985-01-01,,
+                """;
+
+        ImportReport report = userImportService.importUsers(stream(csv), ImportFormat.CSV);
+
+        assertEquals(6, report.received());
+        assertEquals(3, report.imported());
+        assertEquals(3, report.rejected());
+        assertEquals(List.of(5L, 6L, 7L), report.rejections().stream()
+                .map(ImportRejection::line)
+                .sorted()
+                .toList());
+        List<User> users = userRepository.findAll().stream()
+                .sorted(Comparator.comparing(User::getId))
+                .toList();
+        assertEquals(List.of("John", "Jane", "Mike"), users.stream().map(User::getFirstName).toList());
+        assertEquals("1 Main Street, \"Kyiv\"", users.get(0).getAddress());
+        assertEquals(LocalDate.of(1990, 5, 15), users.get(0).getBirthDate());
+    }
+
+    @Test
+    void importUsers_CsvQuotedLineBreaks_KeepsValuesAndLineNumbers() throws Exception {
+        String csv = "email,first_name,last_name,birth_date,address\n"
+                + "john@gmail.com,John,Doe,1990-05-15,\"1 Main Street\nApt 2\"\r\n"
+                + "jane@gmail.com,Jane,Doe,1992-03-01,\"Line 1\r\nLine 2\"\n"
+                + "bad@gmail.com,Bad,Doe,not-a-date,\n";
+
+        ImportReport report = userImportService.importUsers(stream(csv), ImportFormat.CSV);
+
+        assertEquals(3, report.received());
+        assertEquals(2, report.imported());
+        assertEquals(List.of(6L), report.rejections().stream().map(ImportRejection::line).toList());
+        List<User> users = userRepository.findAll().stream()
+                .sorted(Comparator.comparing(User::getId))
+                .toList();
+        assertEquals("1 Main Street\nApt 2", users.get(0).getAddress());
+        assertEquals("Line 1\r\nLine 2", users.get(1).getAddress());
+    }
+
+    @Test
+    void importUsers_Ndjson_RejectsMalformedAndInvalidLines() throws Exception {
+        String ndjson = """
+                {"email":"john@gmail.com","firstName":"John","lastName":"Doe","birthDate":"1990-05-15"}
+                {"email":"invalid","firstName":"Jane","lastName":"Doe","birthDate":"1992-03-01"}
+                {"email":
+                {"email":"mike@gmail.com","firstName":"Mike","lastName":"Doe","birthDate":"1985-01-01"}
+                """;
+
+        ImportReport report = userImportService.importUsers(stream(ndjson), ImportFormat.NDJSON);
+
+        assertEquals(4, report.received());
+        assertEquals(2, report.imported());
+        assertEquals(List.of(2L, 3L), report.rejections().stream().map(ImportRejection::line).toList());
+        assertEquals("Invalid email format", report.rejections().get(0).error());
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    void importUsers_UnknownCsvColumn_ThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userImportService.importUsers(stream("email,nickname\n"), ImportFormat.CSV));
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,116 @@
+package ua.com.restful_for_users.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import ua.com.restful_for_users.entity.User;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SamplingTurboFilterTests {
+    private final LoggerContext context = new LoggerContext();
+
+    @Test
+    void decide_OtherLogger_IsNeutral() {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setSampleRate(0);
+
+        FilterReply reply = filter.decide(null, context.getLogger("other"), Level.DEBUG, "message", null, null);
+
+        assertEquals(FilterReply.NEUTRAL, reply);
+    }
+
+    @Test
+    void decide_PayloadLogger_DeniedWhenNotSampled() {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setSampleRate(0);
+
+        FilterReply reply = filter.decide(null, context.getLogger(PayloadLog.LOGGER_NAME), Level.DEBUG, "message", null, null);
+
+        assertEquals(FilterReply.DENY, reply);
+    }
+
+    @Test
+    void decide_PayloadLogger_NeutralWhenSampled() {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setSampleRate(1);
+
+        FilterReply reply = filter.decide(null, context.getLogger(PayloadLog.LOGGER_NAME), Level.DEBUG, "message", null, null);
+
+        assertEquals(FilterReply.NEUTRAL, reply);
+    }
+
+    @Test
+    void payloadLog_ThroughLoggerContext_EmitsAtConfiguredRate() {
+        int calls = 20_000;
+        ListAppender<ILoggingEvent> appender = attachPayloadAppender(0.5);
+        try {
+            for (int i = 0; i < calls; i++) {
+                PayloadLog.debug("Payload", i);
+            }
+        } finally {
+            detachPayloadAppender(appender);
+        }
+
+        int logged = appender.list.size();
+        assertTrue(logged > calls * 0.45 && logged < calls * 0.55, "Logged " + logged + " of " + calls);
+    }
+
+    @Test
+    void payloadLog_LogsNoPersonalData() {
+        User user = User.builder()
+                .id(7L)
+                .email("john@gmail.com")
+                .firstName("John")
+                .lastName("Smith")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .address("1 Main Street, Kyiv")
+                .build();
+        ListAppender<ILoggingEvent> appender = attachPayloadAppender(1);
+        try {
+            PayloadLog.debug("User", user);
+            PayloadLog.debug("Updates", Map.of("email", "john@gmail.com"));
+        } finally {
+            detachPayloadAppender(appender);
+        }
+
+        String logged = appender.list.stream().map(ILoggingEvent::getFormattedMessage).reduce("", String::concat);
+        assertTrue(logged.contains("User: fields=[email, firstName, lastName, birthDate, address]"));
+        assertTrue(logged.contains("fields=[email]"));
+        for (String value : new String[]{"john@gmail.com", "John", "Smith", "1990-01-01", "Kyiv", "+380501234567"}) {
+            assertFalse(logged.contains(value), value);
+        }
+    }
+
+    private static ListAppender<ILoggingEvent> attachPayloadAppender(double sampleRate) {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setSampleRate(sampleRate);
+        filter.setName("payload-sampling");
+        filter.start();
+        loggerContext.addTurboFilter(filter);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.setContext(loggerContext);
+        appender.start();
+        Logger logger = loggerContext.getLogger(PayloadLog.LOGGER_NAME);
+        logger.setLevel(Level.DEBUG);
+        logger.addAppender(appender);
+        return appender;
+    }
+
+    private static void detachPayloadAppender(ListAppender<ILoggingEvent> appender) {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.getTurboFilterList().removeIf(filter -> filter instanceof SamplingTurboFilter);
+        Logger logger = loggerContext.getLogger(PayloadLog.LOGGER_NAME);
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+    }
+}
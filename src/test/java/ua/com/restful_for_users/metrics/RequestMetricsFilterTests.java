@@ -0,0 +1,108 @@
+package ua.com.restful_for_users.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ua.com.restful_for_users.controller.UserController;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.repository.UserRepository;
+import ua.com.restful_for_users.util.ObjectUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=prometheus")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class RequestMetricsFilterTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getUser_RecordsDatabaseAndApplicationTime() throws Exception {
+        User user = userRepository.save(ObjectUtils.getUser("John"));
+
+        mockMvc.perform(get("/api/users/{userId}", user.getId()))
+                .andExpect(status().isOk());
+
+        Timer databaseTime = meterRegistry.get("users.api.db.time").tag("uri", "/api/users/{userId}").timer();
+        Timer applicationTime = meterRegistry.get("users.api.app.time").tag("uri", "/api/users/{userId}").timer();
+        assertEquals(1, databaseTime.count());
+        assertTrue(databaseTime.totalTime(TimeUnit.NANOSECONDS) > 0);
+        assertEquals(1, applicationTime.count());
+    }
+
+    @Test
+    void streamUsers_AsyncRequest_RecordsOnceOnFinalDispatch() throws Exception {
+        userRepository.save(ObjectUtils.getUser("John"));
+
+        MvcResult result = mockMvc.perform(get("/api/users").accept(UserController.APPLICATION_NDJSON_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String requestId = result.getResponse().getHeader(RequestMetricsFilter.REQUEST_ID_HEADER);
+
+        assertEquals(0, applicationTimeCount());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        assertEquals(1, applicationTimeCount());
+        assertEquals(requestId, result.getResponse().getHeader(RequestMetricsFilter.REQUEST_ID_HEADER));
+    }
+
+    @Test
+    void handledError_IncrementsErrorCounter() throws Exception {
+        double before = errorCount();
+
+        mockMvc.perform(get("/api/users").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(before + 1, errorCount());
+    }
+
+    @Test
+    void prometheusEndpoint_ExposesRequestMetrics() throws Exception {
+        mockMvc.perform(get("/api/users"));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("users_api_db_time_seconds")))
+                .andExpect(content().string(containsString("hikaricp_connections")));
+    }
+
+    private long applicationTimeCount() {
+        Timer timer = meterRegistry.find("users.api.app.time").tag("uri", "/api/users").tag("method", "GET").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double errorCount() {
+        var counter = meterRegistry.find("users.api.errors").tag("handler", "illegalArgument").counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
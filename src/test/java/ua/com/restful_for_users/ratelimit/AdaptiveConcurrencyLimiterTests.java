@@ -0,0 +1,80 @@
+package ua.com.restful_for_users.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTests {
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void tryAcquire_AtLimit_Rejected() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, THRESHOLD, 0);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void release_SlowResponses_DecreasesLimitOncePerWindow() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 10, 200, THRESHOLD, 0);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.release(2 * THRESHOLD, THRESHOLD);
+        }
+        assertEquals(90, limiter.getLimit());
+
+        limiter.tryAcquire();
+        limiter.release(2 * THRESHOLD, 2 * THRESHOLD);
+        assertEquals(81, limiter.getLimit());
+    }
+
+    @Test
+    void release_SlowResponses_NeverBelowMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 8, 20, THRESHOLD, 0);
+
+        for (int i = 1; i <= 10; i++) {
+            limiter.tryAcquire();
+            limiter.release(2 * THRESHOLD, i * THRESHOLD);
+        }
+
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void release_FastResponsesUnderLoad_IncreasesLimitUpToMaximum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 5, THRESHOLD, 0);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+
+        limiter.release(THRESHOLD / 2, THRESHOLD);
+        limiter.tryAcquire();
+        limiter.release(THRESHOLD / 2, THRESHOLD);
+
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void release_FastResponsesWhenIdle_KeepsLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 20, THRESHOLD, 0);
+
+        limiter.tryAcquire();
+        limiter.release(THRESHOLD / 2, THRESHOLD);
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void constructor_InvalidLimits_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 10, 20, THRESHOLD, 0));
+    }
+}
@@ -0,0 +1,115 @@
+package ua.com.restful_for_users.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import ua.com.restful_for_users.controller.UserController;
+import ua.com.restful_for_users.dto.UserPage;
+import ua.com.restful_for_users.service.UserBatchService;
+import ua.com.restful_for_users.service.UserService;
+import ua.com.restful_for_users.util.ObjectUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(value = UserController.class, properties = {
+        "user.rate-limit.tokens-per-second=0.01",
+        "user.rate-limit.burst=20",
+        "user.load-shedding.initial-limit=1",
+        "user.load-shedding.min-limit=1",
+        "user.load-shedding.max-limit=1",
+        "user.load-shedding.retry-after=2s"
+})
+@AutoConfigureObservability
+class RateLimitInterceptorTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private UserBatchService userBatchService;
+
+    @Test
+    void getUsers_CostExceedsRemainingTokens_Returns429WithRetryAfter() throws Exception {
+        when(userService.getUsersPage(any(), anyInt())).thenReturn(new UserPage(List.of(), null));
+
+        mockMvc.perform(get("/api/users").header(RateLimitInterceptor.API_KEY_HEADER, "list-client"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users").header(RateLimitInterceptor.API_KEY_HEADER, "list-client"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users").header(RateLimitInterceptor.API_KEY_HEADER, "list-client"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.error").value("Rate limit exceeded."));
+
+        mockMvc.perform(get("/api/users").header(RateLimitInterceptor.API_KEY_HEADER, "other-client"))
+                .andExpect(status().isOk());
+        assertEquals(1, meterRegistry.get("users.api.shed").tag("reason", "rateLimit").tag("uri", "/api/users")
+                .counter().count());
+    }
+
+    @Test
+    void getUser_CheapEndpoint_AllowsMoreRequestsThanList() throws Exception {
+        when(userService.getUserById(any())).thenReturn(ObjectUtils.getUser("John"));
+
+        for (int i = 0; i < 20; i++) {
+            mockMvc.perform(get("/api/users/{userId}", 1L).header(RateLimitInterceptor.API_KEY_HEADER, "id-client"))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/users/{userId}", 1L).header(RateLimitInterceptor.API_KEY_HEADER, "id-client"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void getUser_ConcurrencyLimitReached_Returns503WithRetryAfter() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userService.getUserById(1L)).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ObjectUtils.getUser("John");
+        });
+
+        CompletableFuture<Integer> slow = CompletableFuture.supplyAsync(() -> {
+            try {
+                return mockMvc.perform(get("/api/users/{userId}", 1L).header(RateLimitInterceptor.API_KEY_HEADER, "slow"))
+                        .andReturn().getResponse().getStatus();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        try {
+            mockMvc.perform(get("/api/users/{userId}", 2L).header(RateLimitInterceptor.API_KEY_HEADER, "fast"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals(200, slow.get(5, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.get("users.api.shed").tag("reason", "concurrencyLimit").counter().count());
+    }
+}
@@ -0,0 +1,77 @@
+package ua.com.restful_for_users.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTests {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryConsume_WithinBurst_Allowed() {
+        TokenBucket bucket = new TokenBucket(10, 20, 0);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(0, bucket.tryConsume(1, 0));
+        }
+        assertTrue(bucket.tryConsume(1, 0) > 0);
+    }
+
+    @Test
+    void tryConsume_Exhausted_ReturnsWaitUntilEnoughTokens() {
+        TokenBucket bucket = new TokenBucket(10, 20, 0);
+        assertEquals(0, bucket.tryConsume(20, 0));
+
+        assertEquals(SECOND / 10, bucket.tryConsume(1, 0));
+        assertEquals(SECOND / 2, bucket.tryConsume(5, 0));
+        assertEquals(0, bucket.tryConsume(5, SECOND / 2));
+    }
+
+    @Test
+    void tryConsume_RefillsUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 20, 0);
+        assertEquals(0, bucket.tryConsume(20, 0));
+
+        assertEquals(0, bucket.tryConsume(20, 60 * SECOND));
+        assertTrue(bucket.tryConsume(1, 60 * SECOND) > 0);
+    }
+
+    @Test
+    void tryConsume_ConcurrentClients_NeverExceedCapacity() throws Exception {
+        TokenBucket bucket = new TokenBucket(0.001, 1000, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    int granted = 0;
+                    for (int i = 0; i < 500; i++) {
+                        if (bucket.tryConsume(1, 0) == 0) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            int granted = 0;
+            for (Future<Integer> future : futures) {
+                granted += future.get();
+            }
+            assertEquals(1000, granted);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void constructor_InvalidRate_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 10, 0));
+    }
+}
@@ -1,14 +1,21 @@
 package ua.com.restful_for_users.repository;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import ua.com.restful_for_users.dto.UserVersion;
 import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.entity.UserField;
 import ua.com.restful_for_users.util.ObjectUtils;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -18,6 +25,9 @@ public class UserRepositoryTests {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     public void testFindByBirthDateBetween() {
         User user1 = ObjectUtils.getUser("John");
@@ -36,4 +46,115 @@ public class UserRepositoryTests {
         assertTrue(users.contains(user1));
         assertTrue(users.contains(user2));
     }
+
+    @Test
+    public void testFindByIdGreaterThanOrderByIdAsc() {
+        User user1 = userRepository.save(ObjectUtils.getUser("First"));
+        User user2 = userRepository.save(ObjectUtils.getUser("Second"));
+        User user3 = userRepository.save(ObjectUtils.getUser("Third"));
+
+        List<User> firstPage = userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2));
+        List<User> secondPage = userRepository.findByIdGreaterThanOrderByIdAsc(user2.getId(), Limit.of(2));
+
+        assertEquals(List.of(user1, user2), firstPage);
+        assertEquals(List.of(user3), secondPage);
+    }
+
+    @Test
+    public void testStreamAllByOrderByIdAsc() {
+        User user1 = userRepository.save(ObjectUtils.getUser("First"));
+        User user2 = userRepository.save(ObjectUtils.getUser("Second"));
+
+        try (Stream<User> users = userRepository.streamAllByOrderByIdAsc()) {
+            assertEquals(List.of(user1.getId(), user2.getId()), users.map(User::getId).toList());
+        }
+    }
+
+    @Test
+    public void testFindByBirthDateBetweenKeyset() {
+        LocalDate birthDate = LocalDate.of(1990, 5, 15);
+        User user1 = ObjectUtils.getUser("John");
+        user1.setBirthDate(birthDate);
+        User user2 = ObjectUtils.getUser("Jane");
+        user2.setBirthDate(birthDate);
+        User user3 = ObjectUtils.getUser("Jack");
+        user3.setBirthDate(LocalDate.of(1991, 1, 1));
+        userRepository.saveAll(List.of(user1, user2, user3));
+
+        LocalDate fromDate = LocalDate.of(1990, 1, 1);
+        LocalDate toDate = LocalDate.of(1995, 12, 31);
+        List<User> firstPage = userRepository.findByBirthDateBetweenOrderByBirthDateAscIdAsc(fromDate, toDate, Limit.of(1));
+        List<User> secondPage = userRepository.findByBirthDateBetweenAfter(fromDate, toDate, birthDate, user1.getId(), Limit.of(5));
+
+        assertEquals(List.of(user1), firstPage);
+        assertEquals(List.of(user2, user3), secondPage);
+        assertEquals(3, userRepository.countByBirthDateBetween(fromDate, toDate));
+    }
+
+    @Test
+    public void testBirthDateIndexExists() {
+        Number indexes = (Number) entityManager.createNativeQuery(
+                        "select count(*) from information_schema.indexes where upper(index_name) = 'IDX_USERS_BIRTH_DATE_ID'")
+                .getSingleResult();
+
+        assertEquals(1, indexes.intValue());
+    }
+
+    @Test
+    public void testPatchUpdatesChangedColumnsAndReturnsRow() {
+        User user = ObjectUtils.getUser("John");
+        user.setBirthDate(LocalDate.of(1990, 5, 15));
+        userRepository.saveAndFlush(user);
+
+        Optional<User> patched = userRepository.patch(user.getId(),
+                Map.of(UserField.FIRST_NAME, "Jack", UserField.BIRTH_DATE, LocalDate.of(1991, 1, 1)), null);
+
+        assertTrue(patched.isPresent());
+        assertEquals("Jack", patched.get().getFirstName());
+        assertEquals("Lastname", patched.get().getLastName());
+        assertEquals(LocalDate.of(1991, 1, 1), patched.get().getBirthDate());
+        assertEquals(user.getVersion() + 1, patched.get().getVersion());
+        assertTrue(patched.get().getUpdatedAt().isAfter(user.getUpdatedAt()));
+    }
+
+    @Test
+    public void testPatchWithVersionCheck() {
+        User user = userRepository.saveAndFlush(ObjectUtils.getUser("John"));
+
+        Optional<User> stale = userRepository.patch(user.getId(), Map.of(UserField.FIRST_NAME, "Jack"), user.getVersion() + 1);
+        Optional<User> current = userRepository.patch(user.getId(), Map.of(UserField.FIRST_NAME, "Jack"), user.getVersion());
+        Optional<User> missing = userRepository.patch(-1L, Map.of(UserField.FIRST_NAME, "Jack"), null);
+
+        assertTrue(stale.isEmpty());
+        assertTrue(current.isPresent());
+        assertTrue(missing.isEmpty());
+    }
+
+    @Test
+    public void testPatchWithoutChanges() {
+        User user = userRepository.saveAndFlush(ObjectUtils.getUser("John"));
+
+        Optional<User> unchanged = userRepository.patch(user.getId(), Map.of(), null);
+        Optional<User> stale = userRepository.patch(user.getId(), Map.of(), user.getVersion() + 1);
+
+        assertTrue(unchanged.isPresent());
+        assertEquals(user.getVersion(), unchanged.get().getVersion());
+        assertEquals(user.getUpdatedAt(), unchanged.get().getUpdatedAt());
+        assertTrue(stale.isEmpty());
+    }
+
+    @Test
+    public void testFindVersions() {
+        User user1 = userRepository.saveAndFlush(ObjectUtils.getUser("First"));
+        User user2 = userRepository.saveAndFlush(ObjectUtils.getUser("Second"));
+
+        Optional<UserVersion> version = userRepository.findVersionById(user1.getId());
+        List<UserVersion> versions = userRepository.findVersionsAfter(user1.getId(), Limit.of(10));
+
+        assertTrue(version.isPresent());
+        assertEquals(user1.getVersion(), version.get().version());
+        assertEquals(user1.getUpdatedAt(), version.get().updatedAt());
+        assertEquals(List.of(user2.getId()), versions.stream().map(UserVersion::id).toList());
+        assertTrue(userRepository.findVersionById(-1L).isEmpty());
+    }
 }
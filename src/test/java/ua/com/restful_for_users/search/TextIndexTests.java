@@ -0,0 +1,97 @@
+package ua.com.restful_for_users.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextIndexTests {
+
+    private static TextIndex index() {
+        return new TextIndex.Builder()
+                .add(SearchDocument.of(1, "john.smith@gmail.com", "John", "Smith", "Kyiv, Khreshchatyk 1", "+380 (67) 123-45-67"))
+                .add(SearchDocument.of(2, "johanna@ukr.net", "Johanna", "Koval", "Lviv, Rynok 5", null))
+                .add(SearchDocument.of(3, "petro@gmail.com", "Petro", "Johnson", "Odesa", "0501112233"))
+                .add(SearchDocument.of(4, "anna@gmail.com", "Anna", "Smyth", "Kyiv", null))
+                .build();
+    }
+
+    private static Map<Long, Float> search(TextIndex index, String query) {
+        TextIndex.Matches matches = index.match(SearchTerms.tokenize(query), 100);
+        Map<Long, Float> scores = new LinkedHashMap<>();
+        for (int i = 0; i < matches.size(); i++) {
+            scores.put(index.id(matches.ordinals()[i]), matches.scores()[i]);
+        }
+        return scores;
+    }
+
+    @Test
+    void match_Prefix_RanksExactAndNameFieldsHigher() {
+        Map<Long, Float> scores = search(index(), "john");
+
+        assertEquals(Set.of(1L, 3L), scores.keySet());
+        assertTrue(scores.get(1L) > scores.get(3L));
+    }
+
+    @Test
+    void match_MultipleTokens_RequiresAllAndSumsScores() {
+        Map<Long, Float> scores = search(index(), "smi kyiv");
+
+        assertEquals(Set.of(1L), scores.keySet());
+    }
+
+    @Test
+    void match_Typo_FindsFuzzyTerms() {
+        assertEquals(Set.of(1L), search(index(), "smitj").keySet());
+        assertEquals(Set.of(4L), search(index(), "smyht").keySet());
+        assertEquals(Set.of(3L), search(index(), "ptero").keySet());
+    }
+
+    @Test
+    void match_EmailAndPhone_AreSearchable() {
+        assertEquals(Set.of(2L), search(index(), "ukr.net").keySet());
+        assertEquals(Set.of(1L), search(index(), "38067123").keySet());
+        assertEquals(Set.of(1L), search(index(), "123-45").keySet());
+        assertEquals(Set.of(3L), search(index(), "050111").keySet());
+    }
+
+    @Test
+    void match_SingleCharacter_MatchesOnlyWholeTerms() {
+        assertTrue(search(index(), "j").isEmpty());
+        assertEquals(Set.of(1L), search(index(), "1").keySet());
+    }
+
+    @Test
+    void compact_AppliesUpsertsAndRemovals() {
+        Map<Long, SearchDocument> changes = new HashMap<>();
+        changes.put(1L, null);
+        changes.put(4L, SearchDocument.of(4, "anna@gmail.com", "Anna", "Johns", "Kyiv", null));
+        changes.put(5L, SearchDocument.of(5, "ivan@gmail.com", "Ivan", "Johnston", "Kharkiv", null));
+
+        TextIndex compacted = index().compact(changes);
+
+        assertEquals(4, compacted.size());
+        assertEquals(Set.of(3L, 4L, 5L), search(compacted, "john").keySet());
+        assertTrue(search(compacted, "smith").isEmpty());
+    }
+
+    @Test
+    void score_PendingDocument_MatchesIndexScoring() {
+        SearchDocument document = SearchDocument.of(1, "john.smith@gmail.com", "John", "Smith", "Kyiv, Khreshchatyk 1", "+380 (67) 123-45-67");
+        List<String> tokens = SearchTerms.tokenize("joh smitj");
+
+        assertEquals(search(index(), "joh smitj").get(1L), document.score(tokens), 0.0001);
+        assertEquals(0, document.score(SearchTerms.tokenize("joh odesa")));
+    }
+
+    @Test
+    void withinOneEdit_DetectsSingleEdits() {
+        assertTrue(SearchTerms.withinOneEdit("smith", "smyth"));
+        assertTrue(SearchTerms.withinOneEdit("smith", "smth"));
+        assertTrue(SearchTerms.withinOneEdit("smith", "smitth"));
+        assertTrue(SearchTerms.withinOneEdit("smith", "msith"));
+        assertFalse(SearchTerms.withinOneEdit("smith", "snyth"));
+        assertFalse(SearchTerms.withinOneEdit("smith", "smithers"));
+    }
+}
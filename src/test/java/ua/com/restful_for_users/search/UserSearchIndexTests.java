@@ -0,0 +1,118 @@
+package ua.com.restful_for_users.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import ua.com.restful_for_users.dto.UserPage;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.exception.RequestThrottledException;
+import ua.com.restful_for_users.repository.UserRepository;
+import ua.com.restful_for_users.service.UserService;
+import ua.com.restful_for_users.util.ObjectUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class UserSearchIndexTests {
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User john;
+    private User petro;
+
+    @BeforeEach
+    void setUp() {
+        john = userRepository.save(user("John", "Smith"));
+        userRepository.save(user("Johanna", "Koval"));
+        petro = userRepository.save(user("Petro", "Johnson"));
+        userSearchIndex.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM users WHERE deleted_at IS NOT NULL");
+        userSearchIndex.reload();
+    }
+
+    @Test
+    void searchUsersByText_RanksAndPagesResults() {
+        UserPage first = userService.searchUsersByText("joh", null, 2);
+        UserPage second = userService.searchUsersByText("joh", first.nextCursor(), 2);
+
+        assertEquals(List.of("John", "Johanna"), names(first.users()));
+        assertEquals(List.of("Petro"), names(second.users()));
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void searchUsersByText_AppliesServiceWritesIncrementally() {
+        userService.createUser(user("Ivan", "Johnston"));
+        userService.updateUser(john.getId(), Map.of("lastName", "Koval"));
+        userService.deleteUser(petro.getId());
+
+        List<String> beforeCompaction = names(userService.searchUsersByText("koval", null, 10).users());
+        List<String> johns = names(userService.searchUsersByText("johns", null, 10).users());
+        userSearchIndex.compact();
+        List<String> afterCompaction = names(userService.searchUsersByText("koval", null, 10).users());
+
+        assertEquals(List.of("John", "Johanna"), beforeCompaction);
+        assertEquals(List.of("Ivan", "John"), johns);
+        assertEquals(beforeCompaction, afterCompaction);
+        assertEquals(0, userSearchIndex.pendingChanges());
+    }
+
+    @Test
+    void searchUsersByText_BlankQuery_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> userService.searchUsersByText("  -- ", null, 10));
+    }
+
+    @Test
+    void searchUsersByText_IndexNotLoaded_ThrowsServiceUnavailable() {
+        UserSearchIndex notLoaded = new UserSearchIndex(dataSource, transactionManager, true, 1000, 2000,
+                Duration.ofSeconds(30), Duration.ofHours(1), Duration.ofSeconds(5));
+
+        RequestThrottledException exception = assertThrows(RequestThrottledException.class,
+                () -> notLoaded.search("joh", null, null, 10));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+        assertEquals(5, exception.getRetryAfterSeconds());
+    }
+
+    private static List<String> names(List<User> users) {
+        return users.stream().map(User::getFirstName).toList();
+    }
+
+    private static User user(String firstName, String lastName) {
+        User user = ObjectUtils.getUser(firstName);
+        user.setLastName(lastName);
+        user.setBirthDate(LocalDate.of(1990, 1, 1));
+        return user;
+    }
+}
@@ -0,0 +1,157 @@
+package ua.com.restful_for_users.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.restful_for_users.cache.UserCache;
+import ua.com.restful_for_users.dto.BatchResult;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.repository.UserRepository;
+import ua.com.restful_for_users.search.UserSearchIndex;
+import ua.com.restful_for_users.util.ObjectUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "user.batch.chunk-size=2")
+public class UserBatchServiceTests {
+    @Autowired
+    private UserBatchService userBatchService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM users WHERE deleted_at IS NOT NULL");
+    }
+
+    @Test
+    void createUser_TransactionRolledBack_LeavesCacheAndIndexesUntouched() {
+        User created = transactionTemplate.execute(status -> {
+            User user = userService.createUser(getAdult("phantom"));
+            assertFalse(userCache.contains(user.getId()));
+            status.setRollbackOnly();
+            return user;
+        });
+
+        assertFalse(userCache.contains(created.getId()));
+        assertTrue(userSearchIndex.search("phantom", null, null, 10).isEmpty());
+        assertFalse(userService.emailExists(created.getEmail()));
+    }
+
+    @Test
+    void createUsers_ValidUsers_AllCreated() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            users.add(getAdult("user" + i));
+        }
+
+        BatchResult result = userBatchService.createUsers(users);
+
+        assertEquals(5, result.succeeded());
+        assertEquals(0, result.failed());
+        assertEquals(5, userRepository.count());
+        result.items().forEach(item -> assertNotNull(item.id()));
+    }
+
+    @Test
+    void createUsers_InvalidAndDuplicateUsers_ReportsPerItemFailures() {
+        User underage = ObjectUtils.getUser("young");
+        underage.setBirthDate(LocalDate.now().minusYears(1));
+        User invalidEmail = getAdult("invalid");
+        invalidEmail.setEmail("not an email");
+
+        BatchResult result = userBatchService.createUsers(List.of(
+                getAdult("first"), underage, invalidEmail, getAdult("second"), getAdult("second")));
+
+        assertEquals(2, result.succeeded());
+        assertEquals(3, result.failed());
+        assertTrue(result.items().get(0).success());
+        assertEquals("User must be at least 18 years old.", result.items().get(1).error());
+        assertEquals("Invalid email format", result.items().get(2).error());
+        assertTrue(result.items().get(3).success());
+        assertFalse(result.items().get(4).success());
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    void createUsers_ExistingEmail_RejectedBeforeInsert() {
+        userBatchService.createUsers(List.of(getAdult("first")));
+
+        BatchResult result = userBatchService.createUsers(List.of(getAdult("first"), getAdult("second")));
+
+        assertEquals("Email is already in use.", result.items().get(0).error());
+        assertTrue(result.items().get(1).success());
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    void updateUsers_MixedItems_UpdatesExistingOnly() {
+        User user1 = userRepository.save(getAdult("first"));
+        User user2 = userRepository.save(getAdult("second"));
+
+        BatchResult result = userBatchService.updateUsers(List.of(
+                Map.of("id", user1.getId(), "firstName", "Updated"),
+                Map.of("id", user2.getId(), "email", "broken"),
+                Map.of("id", -1L, "firstName", "Missing"),
+                Map.of("firstName", "NoId")));
+
+        assertEquals(1, result.succeeded());
+        assertEquals(3, result.failed());
+        assertEquals("Updated", userRepository.findById(user1.getId()).orElseThrow().getFirstName());
+        assertEquals("second@gmail.com", userRepository.findById(user2.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void deleteUsers_MixedIds_DeletesExistingOnly() {
+        User user1 = userRepository.save(getAdult("first"));
+        User user2 = userRepository.save(getAdult("second"));
+        User user3 = userRepository.save(getAdult("third"));
+
+        BatchResult result = userBatchService.deleteUsers(List.of(user1.getId(), -1L, user3.getId()));
+
+        assertEquals(2, result.succeeded());
+        assertEquals(1, result.failed());
+        assertEquals(List.of(user2.getId()), userRepository.findAll().stream().map(User::getId).toList());
+    }
+
+    @Test
+    void createUsers_TooManyUsers_ThrowsException() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i <= 10000; i++) {
+            users.add(new User());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> userBatchService.createUsers(users));
+    }
+
+    private static User getAdult(String name) {
+        User user = ObjectUtils.getUser(name);
+        user.setBirthDate(LocalDate.of(1990, 1, 1));
+        return user;
+    }
+}
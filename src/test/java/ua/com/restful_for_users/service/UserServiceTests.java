@@ -1,17 +1,42 @@
 package ua.com.restful_for_users.service;
 
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import ua.com.restful_for_users.cache.LocalUserCacheInvalidationBus;
+import ua.com.restful_for_users.cache.UserCache;
+import ua.com.restful_for_users.changes.UserOutbox;
+import ua.com.restful_for_users.coalescing.ReadCoalescer;
+import ua.com.restful_for_users.dto.UserPage;
+import ua.com.restful_for_users.dto.UserVersion;
+import ua.com.restful_for_users.email.EmailRegistry;
+import ua.com.restful_for_users.datasource.ReplicaRouting;
 import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.exception.UserNotFoundException;
+import ua.com.restful_for_users.entity.UserChangeType;
+import ua.com.restful_for_users.entity.UserField;
 import ua.com.restful_for_users.repository.UserRepository;
+import ua.com.restful_for_users.search.SearchHit;
+import ua.com.restful_for_users.search.UserSearchIndex;
+import ua.com.restful_for_users.snapshot.UserSnapshot;
+import ua.com.restful_for_users.util.CursorUtils;
+import ua.com.restful_for_users.validation.UserAgePolicy;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,6 +46,30 @@ public class UserServiceTests {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EmailRegistry emailRegistry;
+
+    @Mock
+    private UserSnapshot userSnapshot;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private UserOutbox userOutbox;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ReadCoalescer readCoalescer = new ReadCoalescer(mock(PlatformTransactionManager.class), true, 4, 16);
+
+    @Spy
+    private UserAgePolicy userAgePolicy = new UserAgePolicy(0);
+
+    @Spy
+    private UserCache userCache = new UserCache(new LocalUserCacheInvalidationBus(), 100, Duration.ofMinutes(1));
+
     @InjectMocks
     private UserService userService;
     @Value("${user.age.min}")
@@ -31,33 +80,72 @@ public class UserServiceTests {
     @BeforeEach
     void setUp() {
         userAge = minUserAge;
+        ReflectionTestUtils.setField(userService, "maxPageLimit", 1000);
     }
+
     @Test
-    void getAllUsers_ReturnsListOfUsers() {
-        List<User> expectedUsers = new ArrayList<>();
-        expectedUsers.add(new User());
-        expectedUsers.add(new User());
+    void getUsersPage_MoreRowsThanLimit_ReturnsNextCursor() {
+        List<User> rows = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            User user = new User();
+            user.setId(id);
+            rows.add(user);
+        }
 
-        when(userRepository.findAll()).thenReturn(expectedUsers);
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(rows);
 
-        List<User> foundUsers = userService.getAllUsers();
+        UserPage page = userService.getUsersPage(null, 2);
 
-        assertEquals(expectedUsers.size(), foundUsers.size());
-        assertEquals(expectedUsers, foundUsers);
-        verify(userRepository, times(1)).findAll();
+        assertEquals(2, page.users().size());
+        assertEquals(2L, CursorUtils.decode(page.nextCursor()));
+    }
+
+    @Test
+    void getUsersPage_LastPage_ReturnsNoCursor() {
+        User user = new User();
+        user.setId(5L);
+        String cursor = CursorUtils.encode(4L);
+
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(4L, Limit.of(3))).thenReturn(List.of(user));
+
+        UserPage page = userService.getUsersPage(cursor, 2);
+
+        assertEquals(1, page.users().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getUsersPage_InvalidLimitOrCursor_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> userService.getUsersPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> userService.getUsersPage(null, 1001));
+        assertThrows(IllegalArgumentException.class, () -> userService.getUsersPage("not-a-cursor", 10));
+        verify(userRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
     }
 
     @Test
     void createUser_ValidUser_UserCreated() {
         User user = new User();
+        user.setId(1L);
         user.setBirthDate(LocalDate.now().minusYears(userAge));
-        when(userRepository.save(user)).thenReturn(user);
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
 
         User createdUser = userService.createUser(user);
 
         assertNotNull(createdUser);
         assertEquals(user.getBirthDate(), createdUser.getBirthDate());
-        verify(userRepository, times(1)).save(user);
+        verify(userRepository, times(1)).saveAndFlush(user);
+        verify(userOutbox).record(UserChangeType.CREATED, user);
+    }
+
+    @Test
+    void createUser_TakenEmail_ThrowsExceptionWithoutInsert() {
+        User user = new User();
+        user.setEmail("john@gmail.com");
+        user.setBirthDate(LocalDate.now().minusYears(userAge));
+        when(emailRegistry.isTaken("john@gmail.com")).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> userService.createUser(user));
+        verify(userRepository, never()).saveAndFlush(user);
     }
 
     @Test
@@ -66,40 +154,172 @@ public class UserServiceTests {
         user.setBirthDate(LocalDate.now().minusYears(userAge-1));
 
         assertThrows(IllegalArgumentException.class, () -> userService.createUser(user));
-        verify(userRepository, never()).save(user);
+        verify(userRepository, never()).saveAndFlush(user);
     }
 
     @Test
     void updateUser_ValidUpdates_UserUpdated() {
         long userId = 1L;
-        User existingUser = new User();
-        existingUser.setId(userId);
-        existingUser.setBirthDate(LocalDate.now().minusYears(userAge));
+        User patchedUser = new User();
+        patchedUser.setId(userId);
+        patchedUser.setFirstName("John");
 
         Map<String, Object> updates = new HashMap<>();
         updates.put("firstName", "John");
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
-        when(userRepository.save(existingUser)).thenReturn(existingUser);
+        when(userRepository.patch(userId, Map.of(UserField.FIRST_NAME, "John"), null)).thenReturn(Optional.of(patchedUser));
 
         User updatedUser = userService.updateUser(userId, updates);
 
         assertNotNull(updatedUser);
         assertEquals("John", updatedUser.getFirstName());
-        verify(userRepository, times(1)).findById(userId);
-        verify(userRepository, times(1)).save(existingUser);
+        verify(userRepository, never()).findById(userId);
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void updateUser_NoChanges_ReturnsCurrentUserWithoutRecordingChange() {
+        long userId = 1L;
+        User currentUser = new User();
+        currentUser.setId(userId);
+        currentUser.setVersion(3L);
+
+        when(userRepository.patch(userId, Map.of(), null)).thenReturn(Optional.of(currentUser));
+
+        User updatedUser = userService.updateUser(userId, Map.of());
+
+        assertSame(currentUser, updatedUser);
+        verify(userOutbox, never()).record(any(), any());
     }
 
     @Test
-    void updateUser_InvalidUserId_ThrowsException() {
+    void updateUser_InvalidUserId_ThrowsUserNotFoundException() {
         long userId = 1L;
         Map<String, Object> updates = new HashMap<>();
         updates.put("firstName", "John");
 
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.patch(eq(userId), anyMap(), isNull())).thenReturn(Optional.empty());
 
-        assertThrows(IllegalArgumentException.class, () -> userService.updateUser(userId, updates));
-        verify(userRepository, never()).save(any(User.class));
+        assertThrows(UserNotFoundException.class, () -> userService.updateUser(userId, updates));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void updateUser_BirthDateString_ConvertedToLocalDate() {
+        long userId = 1L;
+        LocalDate birthDate = LocalDate.of(1990, 1, 1);
+        User patchedUser = new User();
+        patchedUser.setId(userId);
+        patchedUser.setBirthDate(birthDate);
+
+        when(userRepository.patch(userId, Map.of(UserField.BIRTH_DATE, birthDate), null)).thenReturn(Optional.of(patchedUser));
+
+        User updatedUser = userService.updateUser(userId, Map.of("birthDate", "1990-01-01"));
+
+        assertEquals(birthDate, updatedUser.getBirthDate());
+    }
+
+    @Test
+    void updateUser_InvalidValues_ThrowsExceptionWithoutWriting() {
+        assertThrows(IllegalArgumentException.class, () -> userService.updateUser(1L, Map.of("email", "not an email")));
+        assertThrows(IllegalArgumentException.class, () -> userService.updateUser(1L, Map.of("firstName", " ")));
+        assertThrows(IllegalArgumentException.class, () -> userService.updateUser(1L, Map.of("birthDate", "not a date")));
+        assertThrows(IllegalArgumentException.class, () -> userService.updateUser(1L, Map.of("birthDate", LocalDate.now().toString())));
+        assertThrows(IllegalArgumentException.class, () -> userService.updateUser(1L, Map.of("unknown", "value")));
+        verify(userRepository, never()).patch(any(), any(), any());
+    }
+
+    @Test
+    void updateUser_StaleVersion_ThrowsOptimisticLockingFailure() {
+        long userId = 1L;
+
+        when(userRepository.patch(userId, Map.of(UserField.FIRST_NAME, "John"), 3L)).thenReturn(Optional.empty());
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> userService.updateUser(userId, Map.of("firstName", "John", "version", 3)));
+    }
+
+    @Test
+    void getUserById_RepeatedReads_HitsRepositoryOnce() {
+        long userId = 1L;
+        User existingUser = new User();
+        existingUser.setId(userId);
+        existingUser.setFirstName("John");
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+
+        assertEquals("John", userService.getUserById(userId).getFirstName());
+        assertEquals("John", userService.getUserById(userId).getFirstName());
+
+        verify(userRepository, times(1)).findById(userId);
+        assertEquals(1, userCache.stats().hitCount());
+        assertEquals(1, userCache.stats().missCount());
+    }
+
+    @Test
+    void getUserById_CacheMiss_LoadsFromPrimary() {
+        long userId = 1L;
+        User existingUser = new User();
+        existingUser.setId(userId);
+        AtomicBoolean primaryForced = new AtomicBoolean();
+
+        when(userRepository.findById(userId)).thenAnswer(invocation -> {
+            primaryForced.set(ReplicaRouting.isPrimaryForced());
+            return Optional.of(existingUser);
+        });
+
+        userService.getUserById(userId);
+
+        assertTrue(primaryForced.get());
+        assertFalse(ReplicaRouting.isPrimaryForced());
+    }
+
+    @Test
+    void getUserVersion_CachedUser_SkipsRepository() {
+        User cachedUser = new User();
+        cachedUser.setId(1L);
+        cachedUser.setVersion(2L);
+        userCache.put(cachedUser);
+        when(userRepository.findVersionById(3L)).thenReturn(Optional.of(new UserVersion(3L, 5L, null)));
+
+        assertEquals(2L, userService.getUserVersion(1L).version());
+        assertEquals(5L, userService.getUserVersion(3L).version());
+        assertThrows(UserNotFoundException.class, () -> userService.getUserVersion(4L));
+
+        verify(userRepository, never()).findVersionById(1L);
+    }
+
+    @Test
+    void updateUser_IfMatchVersion_TakesPrecedenceOverBody() {
+        long userId = 1L;
+        User patchedUser = new User();
+        patchedUser.setId(userId);
+
+        when(userRepository.patch(userId, Map.of(UserField.FIRST_NAME, "Jack"), 7L)).thenReturn(Optional.of(patchedUser));
+
+        userService.updateUser(userId, Map.of("firstName", "Jack", "version", 3), 7L);
+
+        verify(userRepository).patch(userId, Map.of(UserField.FIRST_NAME, "Jack"), 7L);
+    }
+
+    @Test
+    void updateUser_CachedUser_RefreshesCache() {
+        long userId = 1L;
+        User existingUser = new User();
+        existingUser.setId(userId);
+        existingUser.setFirstName("John");
+        userCache.put(existingUser);
+        User patchedUser = new User();
+        patchedUser.setId(userId);
+        patchedUser.setFirstName("Jack");
+
+        when(userRepository.patch(userId, Map.of(UserField.FIRST_NAME, "Jack"), null)).thenReturn(Optional.of(patchedUser));
+
+        userService.updateUser(userId, Map.of("firstName", "Jack"));
+
+        verify(userRepository, never()).findById(userId);
+        assertEquals("Jack", userService.getUserById(userId).getFirstName());
     }
 
     @Test
@@ -116,7 +336,7 @@ public class UserServiceTests {
         userToUpdate.setPhoneNumber("123456789");
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
-        when(userRepository.save(existingUser)).thenReturn(existingUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         User updatedUser = userService.updateAllUserFields(userId, userToUpdate);
 
@@ -127,42 +347,58 @@ public class UserServiceTests {
         assertEquals(userToUpdate.getAddress(), updatedUser.getAddress());
         assertEquals(userToUpdate.getPhoneNumber(), updatedUser.getPhoneNumber());
         verify(userRepository, times(1)).findById(userId);
-        verify(userRepository, times(1)).save(existingUser);
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
     }
 
     @Test
-    void updateUser_UserNotFound_ThrowsException() {
+    void updateUser_UserNotFound_ThrowsUserNotFoundException() {
         Long userId = 1L;
         User userToUpdate = new User();
 
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
-        assertThrows(IllegalArgumentException.class, () -> userService.updateAllUserFields(userId, userToUpdate));
+        assertThrows(UserNotFoundException.class, () -> userService.updateAllUserFields(userId, userToUpdate));
         verify(userRepository, times(1)).findById(userId);
-        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
     @Test
-    void deleteUser_UserExists_UserDeleted() {
+    void deleteUser_UserExists_SoftDeletesInOneStatement() {
+        Long userId = 1L;
+
+        when(userRepository.softDelete(userId)).thenReturn(1);
+
+        userService.deleteUser(userId);
+
+        verify(userRepository, times(1)).softDelete(userId);
+        verify(userRepository, never()).existsById(userId);
+        verify(userRepository, never()).deleteById(userId);
+        verify(userOutbox).recordDeleted(List.of(userId));
+    }
+
+    @Test
+    void deleteUser_CachedUser_Evicts() {
         Long userId = 1L;
         User existingUser = new User();
         existingUser.setId(userId);
-
-        when(userRepository.existsById(userId)).thenReturn(true);
+        userCache.put(existingUser);
+        when(userRepository.softDelete(userId)).thenReturn(1);
 
         userService.deleteUser(userId);
 
-        verify(userRepository, times(1)).deleteById(userId);
+        verify(userRepository, never()).existsById(userId);
+        verify(userRepository, times(1)).softDelete(userId);
+        assertFalse(userCache.contains(userId));
     }
 
     @Test
-    void deleteUser_UserNotFound_ThrowsException() {
+    void deleteUser_UserNotFound_ThrowsUserNotFoundException() {
         Long userId = 1L;
 
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userRepository.softDelete(userId)).thenReturn(0);
 
-        assertThrows(IllegalArgumentException.class, () -> userService.deleteUser(userId));
-        verify(userRepository, never()).deleteById(userId);
+        assertThrows(UserNotFoundException.class, () -> userService.deleteUser(userId));
+        verify(userOutbox, never()).recordDeleted(any());
     }
 
     @Test
@@ -190,4 +426,67 @@ public class UserServiceTests {
         assertThrows(IllegalArgumentException.class, () -> userService.searchUsersByBirthDateRange(fromDate, toDate));
         verify(userRepository, never()).findByBirthDateBetween(any(), any());
     }
+
+    @Test
+    void searchUsersPage_WithCursor_ReturnsNextCursor() {
+        LocalDate fromDate = LocalDate.of(1990, 1, 1);
+        LocalDate toDate = LocalDate.of(2000, 1, 1);
+        LocalDate birthDate = LocalDate.of(1995, 5, 5);
+        List<User> rows = new ArrayList<>();
+        for (long id = 11; id <= 12; id++) {
+            User user = new User();
+            user.setId(id);
+            user.setBirthDate(birthDate);
+            rows.add(user);
+        }
+        String cursor = CursorUtils.encodeBirthDate(birthDate, 10L);
+
+        when(userRepository.findByBirthDateBetweenAfter(fromDate, toDate, birthDate, 10L, Limit.of(2))).thenReturn(rows);
+
+        UserPage page = userService.searchUsersPage(fromDate, toDate, cursor, 1);
+
+        assertEquals(1, page.users().size());
+        assertEquals(new CursorUtils.BirthDateCursor(birthDate, 11L), CursorUtils.decodeBirthDate(page.nextCursor()));
+        verify(userRepository, never()).findByBirthDateBetweenOrderByBirthDateAscIdAsc(any(), any(), any());
+    }
+
+    @Test
+    void searchUsersByText_MoreHitsThanLimit_KeepsRankingAndReturnsScoreCursor() {
+        User first = new User();
+        first.setId(7L);
+        User second = new User();
+        second.setId(3L);
+
+        when(userSearchIndex.search("john", null, null, 3))
+                .thenReturn(List.of(new SearchHit(7L, 6f), new SearchHit(3L, 4.5f), new SearchHit(9L, 1f)));
+        when(userRepository.findAllById(List.of(7L, 3L))).thenReturn(List.of(second, first));
+
+        UserPage page = userService.searchUsersByText("john", null, 2);
+
+        assertEquals(List.of(7L, 3L), page.users().stream().map(User::getId).toList());
+        assertEquals(new CursorUtils.ScoreCursor(4.5f, 3L), CursorUtils.decodeScore(page.nextCursor()));
+    }
+
+    @Test
+    void searchUsersByText_WithCursor_PassesScoreAndId() {
+        String cursor = CursorUtils.encodeScore(4.5f, 3L);
+
+        when(userSearchIndex.search("john", 4.5f, 3L, 3)).thenReturn(List.of());
+        when(userRepository.findAllById(List.of())).thenReturn(List.of());
+
+        UserPage page = userService.searchUsersByText("john", cursor, 2);
+
+        assertTrue(page.users().isEmpty());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void countUsersByBirthDateRange_ValidDateRange_ReturnsCount() {
+        LocalDate fromDate = LocalDate.of(1990, 1, 1);
+        LocalDate toDate = LocalDate.of(2000, 1, 1);
+
+        when(userRepository.countByBirthDateBetween(fromDate, toDate)).thenReturn(7L);
+
+        assertEquals(7L, userService.countUsersByBirthDateRange(fromDate, toDate));
+    }
 }
@@ -0,0 +1,76 @@
+package ua.com.restful_for_users.snapshot;
+
+import org.junit.jupiter.api.Test;
+import ua.com.restful_for_users.entity.User;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarUsersTests {
+
+    @Test
+    void build_RoundTripsAllColumns() {
+        User user = user(7L, LocalDate.of(1990, 5, 15));
+        user.setAddress("Kyiv, Ukraine");
+        user.setUpdatedAt(Instant.parse("2024-05-01T10:15:30.123456Z"));
+
+        ColumnarUsers users = new ColumnarUsers.Builder().append(user).build();
+        User copy = users.user(0);
+
+        assertEquals(1, users.size());
+        assertEquals(user.getId(), copy.getId());
+        assertEquals(user.getEmail(), copy.getEmail());
+        assertEquals(user.getFirstName(), copy.getFirstName());
+        assertEquals(user.getBirthDate(), copy.getBirthDate());
+        assertEquals(user.getAddress(), copy.getAddress());
+        assertNull(copy.getPhoneNumber());
+        assertEquals(user.getVersion(), copy.getVersion());
+        assertEquals(user.getUpdatedAt(), copy.getUpdatedAt());
+    }
+
+    @Test
+    void lowerBound_FindsFirstRowAtOrAfterKey() {
+        ColumnarUsers users = new ColumnarUsers.Builder()
+                .append(user(1L, LocalDate.of(1990, 1, 1)))
+                .append(user(5L, LocalDate.of(1990, 1, 1)))
+                .append(user(2L, LocalDate.of(1991, 1, 1)))
+                .build();
+
+        assertEquals(0, users.lowerBound((int) LocalDate.of(1989, 1, 1).toEpochDay(), 0));
+        assertEquals(1, users.lowerBound((int) LocalDate.of(1990, 1, 1).toEpochDay(), 2));
+        assertEquals(2, users.lowerBound((int) LocalDate.of(1990, 6, 1).toEpochDay(), 0));
+        assertEquals(3, users.lowerBound((int) LocalDate.of(1992, 1, 1).toEpochDay(), 0));
+    }
+
+    @Test
+    void build_DictionaryEncodesRepeatedStrings() {
+        ColumnarUsers.Builder builder = new ColumnarUsers.Builder();
+        for (long id = 1; id <= 1000; id++) {
+            builder.append(user(id, LocalDate.of(1990, 1, 1)));
+        }
+        ColumnarUsers users = builder.build();
+
+        assertEquals("Lastname", users.user(999).getLastName());
+        assertTrue(users.memoryBytes() < 1000 * 80, "bytes: " + users.memoryBytes());
+    }
+
+    @Test
+    void append_OutOfOrder_ThrowsException() {
+        ColumnarUsers.Builder builder = new ColumnarUsers.Builder().append(user(2L, LocalDate.of(1990, 1, 1)));
+
+        assertThrows(IllegalStateException.class, () -> builder.append(user(1L, LocalDate.of(1990, 1, 1))));
+    }
+
+    private static User user(Long id, LocalDate birthDate) {
+        return User.builder()
+                .id(id)
+                .email("user" + id + "@gmail.com")
+                .firstName("user" + id)
+                .lastName("Lastname")
+                .birthDate(birthDate)
+                .version(1L)
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package ua.com.restful_for_users.snapshot;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.com.restful_for_users.dto.UserPage;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.repository.UserRepository;
+import ua.com.restful_for_users.service.UserService;
+import ua.com.restful_for_users.util.ObjectUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "user.snapshot.enabled=true")
+public class UserSnapshotTests {
+    private static final LocalDate FROM = LocalDate.of(1980, 1, 1);
+    private static final LocalDate TO = LocalDate.of(1999, 12, 31);
+
+    @Autowired
+    private UserSnapshot userSnapshot;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User john;
+    private User jane;
+
+    @BeforeEach
+    void setUp() {
+        john = userRepository.save(user("John", LocalDate.of(1990, 5, 15)));
+        jane = userRepository.save(user("Jane", LocalDate.of(1985, 3, 1)));
+        userRepository.save(user("Old", LocalDate.of(1970, 1, 1)));
+        userSnapshot.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM users WHERE deleted_at IS NOT NULL");
+        userSnapshot.reload();
+    }
+
+    @Test
+    void search_AnswersFromSnapshotInBirthDateOrder() {
+        userRepository.deleteAll();
+
+        List<User> users = userService.searchUsersByBirthDateRange(FROM, TO);
+
+        assertTrue(userSnapshot.isReady());
+        assertEquals(List.of("Jane", "John"), users.stream().map(User::getFirstName).toList());
+        assertTrue(userSnapshot.bytesPerMillionUsers() > 0);
+    }
+
+    @Test
+    void search_AppliesServiceWritesIncrementally() {
+        User mike = userService.createUser(user("Mike", LocalDate.of(1988, 8, 8)));
+        userService.updateUser(john.getId(), Map.of("birthDate", "1980-02-02"));
+        userService.deleteUser(jane.getId());
+
+        List<String> beforeCompaction = names(userService.searchUsersByBirthDateRange(FROM, TO));
+        userSnapshot.compact();
+        List<String> afterCompaction = names(userService.searchUsersByBirthDateRange(FROM, TO));
+
+        assertEquals(List.of("John", "Mike"), beforeCompaction);
+        assertEquals(beforeCompaction, afterCompaction);
+        assertEquals(0, userSnapshot.pendingChanges());
+        assertEquals(mike.getId(), userService.searchUsersByBirthDateRange(FROM, TO).get(1).getId());
+    }
+
+    @Test
+    void searchUsersPage_PagesThroughSnapshotAndChanges() {
+        userService.createUser(user("Mike", LocalDate.of(1990, 5, 15)));
+
+        UserPage first = userService.searchUsersPage(FROM, TO, null, 2);
+        UserPage second = userService.searchUsersPage(FROM, TO, first.nextCursor(), 2);
+
+        assertEquals(List.of("Jane", "John"), names(first.users()));
+        assertEquals(List.of("Mike"), names(second.users()));
+        assertNull(second.nextCursor());
+    }
+
+    private static List<String> names(List<User> users) {
+        return users.stream().map(User::getFirstName).toList();
+    }
+
+    private static User user(String name, LocalDate birthDate) {
+        User user = ObjectUtils.getUser(name);
+        user.setBirthDate(birthDate);
+        return user;
+    }
+}
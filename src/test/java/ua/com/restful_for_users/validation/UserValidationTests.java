@@ -0,0 +1,103 @@
+package ua.com.restful_for_users.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.hibernate.validator.HibernateValidator;
+import org.hibernate.validator.HibernateValidatorConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.util.ObjectUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserValidationTests {
+    private static final Pattern LEGACY_EMAIL = Pattern.compile("^[a-zA-Z0-9+_.-]+@[a-zA-Z0-9.-]+$");
+
+    private Validator validator;
+
+    @BeforeEach
+    void setUp() {
+        HibernateValidatorConfiguration configuration = Validation.byProvider(HibernateValidator.class).configure();
+        ConstraintValidatorFactory defaults = configuration.getDefaultConstraintValidatorFactory();
+        UserAgePolicy userAgePolicy = new UserAgePolicy(18);
+        validator = configuration.constraintValidatorFactory(new ConstraintValidatorFactory() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+                return key == MinAgeValidator.class ? (T) new MinAgeValidator(userAgePolicy) : defaults.getInstance(key);
+            }
+
+            @Override
+            public void releaseInstance(ConstraintValidator<?, ?> instance) {
+                defaults.releaseInstance(instance);
+            }
+        }).buildValidatorFactory().getValidator();
+    }
+
+    @Test
+    void isValidEmail_MatchesLegacyPattern() {
+        List<String> emails = List.of("john@gmail.com", "john.smith+tag@mail.example.com", "a@b", "_-.+@-.",
+                "", "@", "john", "john@", "@gmail.com", "john@@gmail.com", "john@gm@il.com", "john smith@gmail.com",
+                "john@gmail.com\n", "jöhn@gmail.com", "john@gmail_com", "john@gmail.com ", "john!@gmail.com");
+
+        for (String email : emails) {
+            assertEquals(LEGACY_EMAIL.matcher(email).matches(), EmailValidator.isValidEmail(email), email);
+        }
+    }
+
+    @Test
+    void validate_InvalidEmail_ReportsEmailMessage() {
+        User user = adult("john");
+        user.setEmail("not an email");
+
+        assertEquals(List.of("Invalid email format"), messages(validator.validate(user)));
+        assertEquals(List.of("Email cannot be blank"), messages(validator.validateValue(User.class, "email", null)));
+    }
+
+    @Test
+    void validate_BirthDate_AppliesMinAgeOnBirthDateProperty() {
+        User adult = adult("adult");
+        User underage = adult("young");
+        underage.setBirthDate(LocalDate.now().minusYears(18).plusDays(1));
+        User missing = adult("missing");
+        missing.setBirthDate(null);
+
+        Set<ConstraintViolation<User>> violations = validator.validate(underage);
+
+        assertTrue(validator.validate(adult).isEmpty());
+        assertEquals(List.of("User must be at least 18 years old."), messages(violations));
+        assertEquals("birthDate", violations.iterator().next().getPropertyPath().toString());
+        assertEquals(List.of("Birth date is required."), messages(validator.validate(missing)));
+    }
+
+    @Test
+    void latestBirthDate_IsCachedForTheDay() {
+        UserAgePolicy userAgePolicy = new UserAgePolicy(18);
+
+        LocalDate first = userAgePolicy.latestBirthDate();
+
+        assertEquals(LocalDate.now().minusYears(18), first);
+        assertSame(first, userAgePolicy.latestBirthDate());
+        assertNull(userAgePolicy.check(first));
+        assertEquals("User must be at least 18 years old.", userAgePolicy.check(first.plusDays(1)));
+    }
+
+    private static User adult(String name) {
+        User user = ObjectUtils.getUser(name);
+        user.setBirthDate(LocalDate.of(1990, 1, 1));
+        return user;
+    }
+
+    private static List<String> messages(Set<ConstraintViolation<User>> violations) {
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().toList();
+    }
+}
@@ -0,0 +1,163 @@
+package ua.com.restful_for_users.wire;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ua.com.restful_for_users.entity.User;
+import ua.com.restful_for_users.repository.UserRepository;
+import ua.com.restful_for_users.util.ObjectUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class WireFormatTests {
+    private static final TypeReference<List<User>> USER_LIST = new TypeReference<>() {
+    };
+    private static final String CBOR = "application/cbor";
+    private static final String SMILE = "application/x-jackson-smile";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final UserProtobufCodec protobufCodec =
+            new UserProtobufCodec(Jackson2ObjectMapperBuilder.json().factory(new ProtobufFactory()).build());
+
+    @BeforeEach
+    void setUp() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            User user = ObjectUtils.getUser("user" + i);
+            user.setBirthDate(LocalDate.of(1990, 1, 1).plusDays(i));
+            user.setAddress("Street " + i);
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getUsers_NoAccept_StaysJson() throws Exception {
+        HttpResponse<byte[]> response = get("/api/users?limit=50", null);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(contentType(response).startsWith("application/json"));
+        assertEquals(50, jsonMapper.readValue(response.body(), USER_LIST).size());
+    }
+
+    @Test
+    void getUsers_BinaryAccept_ReturnsSameUsersInFewerBytes() throws Exception {
+        List<User> json = jsonMapper.readValue(get("/api/users?limit=50", "application/json").body(), USER_LIST);
+        int jsonBytes = get("/api/users?limit=50", "application/json").body().length;
+
+        HttpResponse<byte[]> cbor = get("/api/users?limit=50", CBOR);
+        HttpResponse<byte[]> smile = get("/api/users?limit=50", SMILE);
+        HttpResponse<byte[]> protobuf = get("/api/users?limit=50", UserProtobufCodec.APPLICATION_PROTOBUF_VALUE);
+
+        assertEquals(CBOR, contentType(cbor));
+        assertEquals(SMILE, contentType(smile));
+        assertEquals(UserProtobufCodec.APPLICATION_PROTOBUF_VALUE, contentType(protobuf));
+        assertEquals(emails(json), emails(Jackson2ObjectMapperBuilder.cbor().build().readValue(cbor.body(), USER_LIST)));
+        assertEquals(emails(json), emails(Jackson2ObjectMapperBuilder.smile().build().readValue(smile.body(), USER_LIST)));
+        List<User> decoded = protobufCodec.readAll(new ByteArrayInputStream(protobuf.body()));
+        assertEquals(emails(json), emails(decoded));
+        User stored = userRepository.findById(decoded.get(0).getId()).orElseThrow();
+        assertEquals(stored.getVersion(), decoded.get(0).getVersion());
+        assertEquals(stored.getUpdatedAt(), decoded.get(0).getUpdatedAt());
+        assertEquals(json.get(0).getBirthDate(), decoded.get(0).getBirthDate());
+        assertTrue(protobuf.body().length < smile.body().length);
+        assertTrue(smile.body().length < jsonBytes);
+        assertTrue(cbor.body().length < jsonBytes);
+        assertTrue(protobuf.headers().allValues(HttpHeaders.VARY).stream()
+                .flatMap(vary -> Arrays.stream(vary.split(",")))
+                .anyMatch(HttpHeaders.ACCEPT::equalsIgnoreCase));
+    }
+
+    @Test
+    void createUser_ProtobufBody_ReturnsProtobufUser() throws Exception {
+        User user = ObjectUtils.getUser("proto");
+        user.setBirthDate(LocalDate.of(1991, 2, 3));
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        protobufCodec.write(user, body);
+
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(uri("/api/users"))
+                        .header(HttpHeaders.CONTENT_TYPE, UserProtobufCodec.APPLICATION_PROTOBUF_VALUE)
+                        .header(HttpHeaders.ACCEPT, UserProtobufCodec.APPLICATION_PROTOBUF_VALUE)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(201, response.statusCode());
+        User created = protobufCodec.read(new ByteArrayInputStream(response.body()));
+        assertNotNull(created.getId());
+        assertEquals("proto@gmail.com", created.getEmail());
+        assertEquals(LocalDate.of(1991, 2, 3), created.getBirthDate());
+    }
+
+    @Test
+    void getUsers_AcceptGzip_CompressesLargeLists() throws Exception {
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(uri("/api/users?limit=50"))
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        assertEquals(50, jsonMapper.readValue(gunzip(response.body()), USER_LIST).size());
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).GET();
+        if (accept != null) {
+            request.header(HttpHeaders.ACCEPT, accept);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String contentType(HttpResponse<?> response) {
+        return response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElse("");
+    }
+
+    private static List<String> emails(List<User> users) {
+        return users.stream().map(User::getEmail).toList();
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}